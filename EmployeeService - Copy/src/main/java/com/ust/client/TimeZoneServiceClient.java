@@ -1,5 +1,6 @@
 package com.ust.client;
 
+import com.ust.dto.CompactSlots;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -19,7 +20,15 @@ public interface TimeZoneServiceClient {
     @GetMapping("/api/timezone/overlap")
     List<ZonedDateTime> getOverlappingWorkingHours(
             @RequestParam List<Long> employeeIds,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date);
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam int stepMinutes);
+
+    @GetMapping("/api/timezone/overlap")
+    CompactSlots getOverlappingSlots(
+            @RequestParam List<Long> employeeIds,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam String format,
+            @RequestParam int stepMinutes);
 
     class FeignConfiguration {
         @Bean
@@ -1,10 +1,16 @@
 package com.ust.controller;
 
+import com.ust.dto.CompactSlots;
+import com.ust.dto.EmployeeSuggestion;
+import com.ust.dto.EmployeeSummary;
+import com.ust.dto.EmployeeWindow;
 import com.ust.model.Employee;
 import com.ust.service.EmployeeService;
+import com.ust.service.TimeZoneServiceUnavailableException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -32,14 +38,34 @@ public class EmployeeController {
     @GetMapping("/team-overlap")
     public ResponseEntity<List<ZonedDateTime>> getTeamOverlappingHours(
             @RequestParam List<Long> employeeIds,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
-        List<ZonedDateTime> overlappingHours = employeeService.getTeamOverlappingHours(employeeIds, date);
-        return ResponseEntity.ok(overlappingHours);
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(defaultValue = "30") int stepMinutes) {
+        try {
+            List<ZonedDateTime> overlappingHours = employeeService.getTeamOverlappingHours(employeeIds, date, stepMinutes);
+            return ResponseEntity.ok(overlappingHours);
+        } catch (TimeZoneServiceUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'ORGANIZER')")
+    @GetMapping(value = "/team-overlap", params = "format")
+    public ResponseEntity<CompactSlots> getTeamOverlappingSlots(
+            @RequestParam List<Long> employeeIds,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam String format,
+            @RequestParam(defaultValue = "30") int stepMinutes) {
+        try {
+            CompactSlots slots = employeeService.getTeamOverlappingSlots(employeeIds, date, format, stepMinutes);
+            return ResponseEntity.ok(slots);
+        } catch (TimeZoneServiceUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
     }
 
     @PreAuthorize("hasAnyRole('ADMIN', 'ORGANIZER', 'USER')")
     @GetMapping
-    public ResponseEntity<Page<Employee>> getAllEmployees(Pageable pageable) {
+    public ResponseEntity<Page<EmployeeSummary>> getAllEmployees(Pageable pageable) {
         return ResponseEntity.ok(employeeService.getAllEmployeesPaginated(pageable));
     }
 
@@ -108,21 +134,73 @@ public class EmployeeController {
 
     @PreAuthorize("hasAnyRole('ADMIN', 'ORGANIZER', 'USER')")
     @GetMapping("/search")
-    public ResponseEntity<Page<Employee>> searchEmployees(
+    public ResponseEntity<Page<EmployeeSummary>> searchEmployees(
             @RequestParam(required = false) String searchTerm,
             @RequestParam(required = false) Set<String> skills,
             @RequestParam(required = false) String location,
             @RequestParam(required = false) Integer numberOfEmployees,
             Pageable pageable) {
-        Page<Employee> results = employeeService.findEmployees(searchTerm, skills, location, numberOfEmployees, pageable);
-        return ResponseEntity.ok(results);
+        return ResponseEntity.ok(employeeService.findEmployees(searchTerm, skills, location, numberOfEmployees, pageable));
+    }
+
+    // Cursor-based alternative to the paged list and search: no per-page COUNT and no cost growth on deep pages
+    @PreAuthorize("hasAnyRole('ADMIN', 'ORGANIZER', 'USER')")
+    @GetMapping({"/scroll", "/search/scroll"})
+    public ResponseEntity<EmployeeWindow> scrollEmployees(
+            @RequestParam(required = false) String searchTerm,
+            @RequestParam(required = false) Set<String> skills,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = "false") boolean withTotal,
+            Sort sort) {
+        if (size < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(employeeService.scrollEmployees(searchTerm, skills, location, sort, cursor,
+                    Math.min(size, 1000), withTotal));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'ORGANIZER', 'USER')")
+    @GetMapping("/search/suggest")
+    public ResponseEntity<List<EmployeeSuggestion>> suggestEmployees(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(employeeService.suggestEmployees(q, Math.min(limit, 50)));
     }
 
     @PreAuthorize("hasAnyRole('ADMIN', 'ORGANIZER', 'USER')")
     @GetMapping("/skills/{skill}")
-    public ResponseEntity<List<Employee>> findEmployeesBySkill(@PathVariable String skill) {
-        List<Employee> employees = employeeService.findEmployeesBySkill(skill);
-        return ResponseEntity.ok(employees);
+    public ResponseEntity<List<EmployeeSummary>> findEmployeesBySkill(@PathVariable String skill) {
+        return ResponseEntity.ok(employeeService.findEmployeesBySkill(skill));
+    }
+
+    // match=all keeps employees holding every listed skill, match=any those holding at least one; pages are in id order
+    @PreAuthorize("hasAnyRole('ADMIN', 'ORGANIZER', 'USER')")
+    @GetMapping("/skills/match")
+    public ResponseEntity<Page<EmployeeSummary>> findEmployeesBySkills(
+            @RequestParam Set<String> skills,
+            @RequestParam(defaultValue = "all") String match,
+            Pageable pageable) {
+        if (!"all".equalsIgnoreCase(match) && !"any".equalsIgnoreCase(match)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(employeeService.findEmployeesBySkills(skills, "all".equalsIgnoreCase(match), pageable));
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'ORGANIZER')")
+    @GetMapping("/skills/match/count")
+    public ResponseEntity<Long> countEmployeesBySkills(
+            @RequestParam Set<String> skills,
+            @RequestParam(defaultValue = "all") String match) {
+        if (!"all".equalsIgnoreCase(match) && !"any".equalsIgnoreCase(match)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(employeeService.countEmployeesBySkills(skills, "all".equalsIgnoreCase(match)));
     }
 
     @PreAuthorize("hasAnyRole('ADMIN', 'ORGANIZER')")
@@ -134,9 +212,8 @@ public class EmployeeController {
 
     @PreAuthorize("hasAnyRole('ADMIN', 'ORGANIZER')")
     @GetMapping("/team")
-    public ResponseEntity<List<Employee>> getTeamMembers() {
-        List<Employee> teamMembers = employeeService.getTeamMembers();
-        return ResponseEntity.ok(teamMembers);
+    public ResponseEntity<List<EmployeeSummary>> getTeamMembers() {
+        return ResponseEntity.ok(employeeService.getTeamMembers());
     }
 
     @PreAuthorize("hasRole('ADMIN')")
@@ -0,0 +1,8 @@
+package com.ust.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// Mirrors the timezone service's compact overlap: merged [startEpochSec, endEpochSec, stepSec] intervals or packed slot starts
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CompactSlots(String zone, int stepSeconds, long[][] intervals, long[] epochSeconds) {
+}
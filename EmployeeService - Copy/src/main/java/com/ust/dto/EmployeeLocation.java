@@ -0,0 +1,8 @@
+package com.ust.dto;
+
+// Where one employee is based, for seeding the in-memory location counters
+public interface EmployeeLocation {
+    long getEmployeeId();
+
+    String getLocation();
+}
@@ -0,0 +1,10 @@
+package com.ust.dto;
+
+// The scalar columns the search index covers; skills come from the skills join
+public interface EmployeeSearchFields {
+    long getId();
+
+    String getUserName();
+
+    String getDesignation();
+}
@@ -0,0 +1,8 @@
+package com.ust.dto;
+
+// One row of the skills join: which employee holds which skill
+public interface EmployeeSkill {
+    long getEmployeeId();
+
+    String getSkill();
+}
@@ -0,0 +1,5 @@
+package com.ust.dto;
+
+// One search-as-you-type hit, served from the in-memory search index without touching the database
+public record EmployeeSuggestion(long id, String userName, String designation) {
+}
@@ -0,0 +1,18 @@
+package com.ust.dto;
+
+import java.util.Set;
+
+// Read model for list and search responses: no password, roles or UserDetails flags
+public record EmployeeSummary(long id, String userName, String email, String location, String designation,
+                              String role, Set<String> skills, boolean teamMember) {
+
+    // Target of the constructor projection; skills are a collection, so they are attached by a second query
+    public EmployeeSummary(long id, String userName, String email, String location, String designation,
+                           String role, boolean teamMember) {
+        this(id, userName, email, location, designation, role, Set.of(), teamMember);
+    }
+
+    public EmployeeSummary withSkills(Set<String> skills) {
+        return new EmployeeSummary(id, userName, email, location, designation, role, Set.copyOf(skills), teamMember);
+    }
+}
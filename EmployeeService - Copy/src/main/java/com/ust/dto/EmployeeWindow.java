@@ -0,0 +1,10 @@
+package com.ust.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+// One keyset page: pass nextCursor back to continue; totalElements is only counted when asked for
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record EmployeeWindow(List<EmployeeSummary> content, String nextCursor, Long totalElements) {
+}
@@ -0,0 +1,8 @@
+package com.ust.dto;
+
+// Row of a GROUP BY projection: a skill or location and how many employees have it
+public interface NameCount {
+    String getName();
+
+    long getTotal();
+}
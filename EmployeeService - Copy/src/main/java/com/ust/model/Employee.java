@@ -1,10 +1,12 @@
 package com.ust.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -15,6 +17,12 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 @Entity
+@Table(indexes = {
+        // Each sortable column is paired with id, the tie-breaker of every keyset page; email is unique on its own
+        @Index(name = "idx_employee_location", columnList = "location, id"),
+        @Index(name = "idx_employee_user_name", columnList = "user_name, id"),
+        @Index(name = "idx_employee_designation", columnList = "designation, id")
+})
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -31,6 +39,7 @@ public class Employee implements UserDetails {
     @Column(nullable = false, unique = true)
     private String email;
 
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     @Column(nullable = false)
     private String password;
 
@@ -44,8 +53,10 @@ public class Employee implements UserDetails {
     private String role;
 
     @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(name = "employee_skills", joinColumns = @JoinColumn(name = "employee_id"))
+    @CollectionTable(name = "employee_skills", joinColumns = @JoinColumn(name = "employee_id"),
+            indexes = @Index(name = "idx_employee_skills_skill", columnList = "skill"))
     @Column(name = "skill")
+    @BatchSize(size = 100)
     private Set<String> skills = new HashSet<>();
 
     @Column(name = "is_team_member", nullable = false)
@@ -54,6 +65,7 @@ public class Employee implements UserDetails {
     @ElementCollection(fetch = FetchType.EAGER)
     @CollectionTable(name = "employee_roles", joinColumns = @JoinColumn(name = "employee_id"))
     @Column(name = "role")
+    @BatchSize(size = 100)
     private Set<String> roles = new HashSet<>();
 
     public Employee(String email){
@@ -73,6 +85,11 @@ public class Employee implements UserDetails {
         return email;
     }
 
+    // Lombok skips this getter because it clashes, ignoring case, with getUsername() above
+    public String getUserName() {
+        return UserName;
+    }
+
     @Override
     public boolean isAccountNonExpired() {
         return true;
@@ -1,30 +1,42 @@
 package com.ust.repo;
 
+import com.ust.dto.EmployeeLocation;
+import com.ust.dto.EmployeeSearchFields;
+import com.ust.dto.EmployeeSkill;
+import com.ust.dto.NameCount;
 import com.ust.model.Employee;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, Long>, JpaSpecificationExecutor<Employee> {
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, JpaSpecificationExecutor<Employee>,
+        EmployeeSummaryRepository {
 
     Optional<Employee> findByEmail(String email);
 
-    List<Employee> findByIsTeamMember(boolean isTeamMember);
+    @Query("SELECT s AS name, COUNT(s) AS total FROM Employee e JOIN e.skills s GROUP BY s ORDER BY s")
+    List<NameCount> countBySkill();
 
-    @Query("SELECT e FROM Employee e JOIN e.skills s WHERE LOWER(s) = LOWER(:skill)")
-    List<Employee> findBySkill(@Param("skill") String skill);
+    @Query("SELECT e.location AS name, COUNT(e) AS total FROM Employee e GROUP BY e.location ORDER BY e.location")
+    List<NameCount> countByLocation();
 
-    @Query("SELECT e FROM Employee e WHERE LOWER(e.UserName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
-            "OR LOWER(e.designation) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
-            "OR EXISTS (SELECT 1 FROM e.skills s WHERE LOWER(s) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
-    List<Employee> searchEmployees(@Param("searchTerm") String searchTerm);
+    @Query("SELECT DISTINCT s FROM Employee e JOIN e.skills s ORDER BY s")
+    List<String> findDistinctSkills();
 
-    @Query("SELECT COUNT(DISTINCT e) FROM Employee e JOIN e.skills s WHERE LOWER(s) = LOWER(:skill)")
-    long countEmployeesWithSkill(@Param("skill") String skill);
+    @Query("SELECT e.id AS employeeId, s AS skill FROM Employee e JOIN e.skills s")
+    List<EmployeeSkill> findAllSkillAssignments();
+
+    @Query("SELECT e.id AS employeeId, e.location AS location FROM Employee e")
+    List<EmployeeLocation> findAllLocations();
+
+    @Query("SELECT e.id AS id, e.UserName AS userName, e.designation AS designation FROM Employee e")
+    List<EmployeeSearchFields> findAllSearchFields();
+
+    @Query("SELECT DISTINCT e.location FROM Employee e ORDER BY e.location")
+    List<String> findDistinctLocations();
 }
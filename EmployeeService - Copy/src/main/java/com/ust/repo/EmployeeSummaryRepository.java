@@ -0,0 +1,22 @@
+package com.ust.repo;
+
+import com.ust.dto.EmployeeSummary;
+import com.ust.model.Employee;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+
+// Summaries selected column by column, so list and search pages never hydrate Employee, its password or its roles
+public interface EmployeeSummaryRepository {
+
+    Page<EmployeeSummary> findSummaries(Specification<Employee> spec, Pageable pageable);
+
+    // A limit below zero returns every match; the specification may order the query itself
+    List<EmployeeSummary> findSummaries(Specification<Employee> spec, Sort sort, int limit);
+
+    List<EmployeeSummary> findSummariesInIdOrder(Collection<Long> ids);
+}
@@ -0,0 +1,102 @@
+package com.ust.repo;
+
+import com.ust.dto.EmployeeSummary;
+import com.ust.model.Employee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.*;
+
+/**
+ * Runs the same specifications as {@link EmployeeRepository} but selects an {@link EmployeeSummary} constructor
+ * expression instead of the entity, then loads the skills of the whole page with one more query. A page costs two
+ * statements, plus the count when the page alone cannot tell the total.
+ */
+class EmployeeSummaryRepositoryImpl implements EmployeeSummaryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<EmployeeSummary> findSummaries(Specification<Employee> spec, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            List<EmployeeSummary> all = select(spec, pageable.getSort(), 0, -1);
+            return PageableExecutionUtils.getPage(all, pageable, all::size);
+        }
+        List<EmployeeSummary> content = select(spec, pageable.getSort(), pageable.getOffset(), pageable.getPageSize());
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(spec));
+    }
+
+    @Override
+    public List<EmployeeSummary> findSummaries(Specification<Employee> spec, Sort sort, int limit) {
+        return select(spec, sort, 0, limit);
+    }
+
+    @Override
+    public List<EmployeeSummary> findSummariesInIdOrder(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return select((root, query, cb) -> root.get("id").in(ids), Sort.by("id"), 0, -1);
+    }
+
+    private List<EmployeeSummary> select(Specification<Employee> spec, Sort sort, long offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EmployeeSummary> query = cb.createQuery(EmployeeSummary.class);
+        Root<Employee> root = query.from(Employee.class);
+        query.select(cb.construct(EmployeeSummary.class, root.get("id"), root.get("UserName"), root.get("email"),
+                root.get("location"), root.get("designation"), root.get("role"), root.get("isTeamMember")));
+        where(query, root, cb, spec);
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+        TypedQuery<EmployeeSummary> typed = entityManager.createQuery(query).setFirstResult(Math.toIntExact(offset));
+        if (limit >= 0) {
+            typed.setMaxResults(limit);
+        }
+        return withSkills(typed.getResultList());
+    }
+
+    private long count(Specification<Employee> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Employee> root = query.from(Employee.class);
+        query.select(cb.count(root));
+        where(query, root, cb, spec);
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static void where(CriteriaQuery<?> query, Root<Employee> root, CriteriaBuilder cb,
+                              Specification<Employee> spec) {
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+
+    private List<EmployeeSummary> withSkills(List<EmployeeSummary> summaries) {
+        if (summaries.isEmpty()) {
+            return summaries;
+        }
+        List<Long> ids = summaries.stream().map(EmployeeSummary::id).toList();
+        Map<Long, Set<String>> skills = new HashMap<>();
+        entityManager.createQuery("SELECT e.id, s FROM Employee e JOIN e.skills s WHERE e.id IN :ids", Object[].class)
+                .setParameter("ids", ids)
+                .getResultList()
+                .forEach(row -> skills.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((String) row[1]));
+        return summaries.stream()
+                .map(summary -> summary.withSkills(skills.getOrDefault(summary.id(), Set.of())))
+                .toList();
+    }
+}
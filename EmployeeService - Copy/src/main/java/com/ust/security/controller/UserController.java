@@ -2,12 +2,12 @@ package com.ust.security.controller;
 
 
 import com.ust.model.Employee;
-import com.ust.repo.EmployeeRepository;
 
 import com.ust.security.dto.LoginRequest;
 import com.ust.security.dto.RegisterRequest;
 import com.ust.security.service.ApiUserService;
 import com.ust.security.service.JwtService;
+import com.ust.service.EmployeeService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -17,7 +17,6 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Arrays;
@@ -32,8 +31,7 @@ import java.util.stream.Collectors;
 @Slf4j
 public class UserController {
 
-    private final EmployeeRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final EmployeeService employeeService;
     private final JwtService jwtService;
     private final ApiUserService apiUserService;
     private final AuthenticationManager authenticationManager;
@@ -44,7 +42,7 @@ public class UserController {
         var user = new Employee();
         user.setUserName(request.UserName());
         user.setEmail(request.email());
-        user.setPassword(passwordEncoder.encode(request.password()));
+        user.setPassword(request.password());
         user.setLocation(request.location());
         user.setDesignation(request.designation());
         user.setRole(request.role());
@@ -57,7 +55,8 @@ user.setSkills(request.skills());
 
         user.setTeamMember(false); // Default value, can be changed later if needed
 
-        var response = userRepository.save(user);
+        // Encodes the password and keeps the in-memory indexes in step, like every other write
+        var response = employeeService.createEmployee(user);
         return ResponseEntity.ok(response);
     }
 
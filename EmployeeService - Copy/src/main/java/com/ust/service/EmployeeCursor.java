@@ -0,0 +1,32 @@
+package com.ust.service;
+
+import org.springframework.data.domain.Sort;
+
+import java.io.*;
+import java.util.Base64;
+
+// Opaque continuation token: the sort it was issued for plus the sort value and id of the last row returned
+record EmployeeCursor(String property, Sort.Direction direction, String value, long id) {
+
+    String encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF(property);
+            out.writeBoolean(direction.isAscending());
+            out.writeUTF(value);
+            out.writeLong(id);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    static EmployeeCursor decode(String token) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(token)))) {
+            return new EmployeeCursor(in.readUTF(), in.readBoolean() ? Sort.Direction.ASC : Sort.Direction.DESC,
+                    in.readUTF(), in.readLong());
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
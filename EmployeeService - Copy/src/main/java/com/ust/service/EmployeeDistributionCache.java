@@ -0,0 +1,108 @@
+package com.ust.service;
+
+import com.ust.dto.EmployeeLocation;
+import com.ust.dto.EmployeeSkill;
+import com.ust.model.Employee;
+import com.ust.repo.EmployeeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Optional in-memory skill and location counters, seeded once from every employee's location and skills and then
+ * moved by the new state of every write once its transaction commits. The last state applied for each employee is
+ * kept, so a change the seed already saw replaces that state with itself instead of being counted twice. Disabled
+ * unless employee.distribution-cache.enabled is set, in which case callers fall back to the GROUP BY queries.
+ */
+@Component
+public class EmployeeDistributionCache {
+
+    private final EmployeeRepository employeeRepository;
+    private final boolean enabled;
+    private final Map<Long, Snapshot> employees = new HashMap<>();
+    private final Map<String, Long> skillCounts = new TreeMap<>();
+    private final Map<String, Long> locationCounts = new TreeMap<>();
+
+    @Autowired
+    public EmployeeDistributionCache(EmployeeRepository employeeRepository,
+                                     @Value("${employee.distribution-cache.enabled:false}") boolean enabled) {
+        this.employeeRepository = employeeRepository;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // The snapshot is read while holding the monitor: a change committed meanwhile is either in it or applied after it
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        if (!enabled) {
+            return;
+        }
+        employees.clear();
+        skillCounts.clear();
+        locationCounts.clear();
+        Map<Long, Set<String>> skills = new HashMap<>();
+        for (EmployeeSkill row : employeeRepository.findAllSkillAssignments()) {
+            skills.computeIfAbsent(row.getEmployeeId(), id -> new HashSet<>()).add(row.getSkill());
+        }
+        for (EmployeeLocation row : employeeRepository.findAllLocations()) {
+            apply(row.getEmployeeId(), new Snapshot(row.getLocation(),
+                    skills.getOrDefault(row.getEmployeeId(), Set.of())));
+        }
+    }
+
+    public synchronized Map<String, Long> skillCounts() {
+        return new LinkedHashMap<>(skillCounts);
+    }
+
+    public synchronized Map<String, Long> locationCounts() {
+        return new LinkedHashMap<>(locationCounts);
+    }
+
+    public synchronized List<String> skills() {
+        return new ArrayList<>(skillCounts.keySet());
+    }
+
+    public synchronized List<String> locations() {
+        return new ArrayList<>(locationCounts.keySet());
+    }
+
+    // A null snapshot is a delete; rolled back writes never reach the counters
+    public void recordChange(long employeeId, Snapshot after) {
+        if (!enabled) {
+            return;
+        }
+        AfterCommit.run(() -> apply(employeeId, after));
+    }
+
+    private synchronized void apply(long employeeId, Snapshot after) {
+        Snapshot before = after == null ? employees.remove(employeeId) : employees.put(employeeId, after);
+        if (before != null) {
+            add(locationCounts, before.location(), -1);
+            before.skills().forEach(skill -> add(skillCounts, skill, -1));
+        }
+        if (after != null) {
+            add(locationCounts, after.location(), 1);
+            after.skills().forEach(skill -> add(skillCounts, skill, 1));
+        }
+    }
+
+    private static void add(Map<String, Long> counts, String key, long delta) {
+        if (key != null) {
+            counts.merge(key, delta, (current, change) -> current + change == 0 ? null : current + change);
+        }
+    }
+
+    public record Snapshot(String location, Set<String> skills) {
+        public static Snapshot of(Employee employee) {
+            return new Snapshot(employee.getLocation(),
+                    employee.getSkills() == null ? Set.of() : new HashSet<>(employee.getSkills()));
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package com.ust.service;
+
+import com.ust.dto.EmployeeSearchFields;
+import com.ust.dto.EmployeeSkill;
+import com.ust.dto.EmployeeSuggestion;
+import com.ust.model.Employee;
+import com.ust.repo.EmployeeRepository;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory n-gram index over the lower-cased user name, designation and skills of every employee. Every 1, 2 and
+ * 3 character gram of a field maps to a bitmap of employee ids, so a substring of up to three characters is a single
+ * lookup and a longer one is the intersection of its trigrams, verified against the stored fields. Whole fields and
+ * their words also live in a sorted map so that prefix hits can be found, and ranked first, without any scan.
+ * Until the first load completes {@link #isReady()} is false and callers answer from the database instead.
+ */
+@Component
+public class EmployeeSearchIndex {
+
+    private static final int GRAM = 3;
+    // A single character only completes user names; ranking every field containing it would scan most of the index
+    private static final int MIN_SCAN_LENGTH = 2;
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Comparator<Hit> BEST_FIRST = Comparator.comparingInt(Hit::tier)
+            .thenComparing(hit -> hit.document().name())
+            .thenComparingInt(Hit::id);
+
+    private final EmployeeRepository employeeRepository;
+    private final Map<Integer, Document> documents = new HashMap<>();
+    private final Map<String, RoaringBitmap> employeesByGram = new HashMap<>();
+    private final NavigableMap<String, RoaringBitmap> employeesByToken = new TreeMap<>();
+    private final NavigableMap<String, RoaringBitmap> employeesByName = new TreeMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    @Autowired
+    public EmployeeSearchIndex(EmployeeRepository employeeRepository) {
+        this.employeeRepository = employeeRepository;
+    }
+
+    public static String normalise(String text) {
+        return text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // The snapshot is read under the write lock: a change committed meanwhile is either in it or applied after it
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        lock.writeLock().lock();
+        try {
+            Map<Long, Set<String>> skills = new HashMap<>();
+            for (EmployeeSkill row : employeeRepository.findAllSkillAssignments()) {
+                skills.computeIfAbsent(row.getEmployeeId(), id -> new HashSet<>()).add(row.getSkill());
+            }
+            List<EmployeeSearchFields> rows = employeeRepository.findAllSearchFields();
+            documents.clear();
+            employeesByGram.clear();
+            employeesByToken.clear();
+            employeesByName.clear();
+            for (EmployeeSearchFields row : rows) {
+                add(toInt(row.getId()), Document.of(row.getUserName(), row.getDesignation(),
+                        skills.getOrDefault(row.getId(), Set.of())));
+            }
+            employeesByGram.values().forEach(RoaringBitmap::runOptimize);
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // A null employee removes the id; the fields are captured now and applied once the transaction commits
+    public void recordChange(long employeeId, Employee after) {
+        int id = toInt(employeeId);
+        Document document = after == null ? null
+                : Document.of(after.getUserName(), after.getDesignation(), after.getSkills());
+        AfterCommit.run(() -> apply(id, document));
+    }
+
+    private void apply(int id, Document document) {
+        lock.writeLock().lock();
+        try {
+            Document previous = documents.remove(id);
+            if (previous != null) {
+                previous.forEachGram(gram -> unlink(employeesByGram, gram, id));
+                previous.forEachToken(token -> unlink(employeesByToken, token, id));
+                unlink(employeesByName, previous.name(), id);
+            }
+            if (document != null) {
+                add(id, document);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void add(int id, Document document) {
+        documents.put(id, document);
+        document.forEachGram(gram -> employeesByGram.computeIfAbsent(gram, key -> new RoaringBitmap()).add(id));
+        document.forEachToken(token -> employeesByToken.computeIfAbsent(token, key -> new RoaringBitmap()).add(id));
+        employeesByName.computeIfAbsent(document.name(), key -> new RoaringBitmap()).add(id);
+    }
+
+    private static void unlink(Map<String, RoaringBitmap> index, String key, int id) {
+        RoaringBitmap ids = index.get(key);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    // Ids whose user name, designation or any skill contains the term, ignoring case
+    public RoaringBitmap containing(String term) {
+        String query = normalise(term);
+        if (query.isEmpty()) {
+            return new RoaringBitmap();
+        }
+        lock.readLock().lock();
+        try {
+            return containingLocked(query);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private RoaringBitmap containingLocked(String query) {
+        if (query.length() <= GRAM) {
+            RoaringBitmap ids = employeesByGram.get(query);
+            return ids == null ? new RoaringBitmap() : ids.clone();
+        }
+        List<RoaringBitmap> bitmaps = new ArrayList<>();
+        for (int i = 0; i + GRAM <= query.length(); i++) {
+            RoaringBitmap ids = employeesByGram.get(query.substring(i, i + GRAM));
+            if (ids == null) {
+                return new RoaringBitmap();
+            }
+            bitmaps.add(ids);
+        }
+        bitmaps.sort(Comparator.comparingLong(RoaringBitmap::getLongCardinality));
+        RoaringBitmap candidates = bitmaps.get(0).clone();
+        for (int i = 1; i < bitmaps.size() && !candidates.isEmpty(); i++) {
+            candidates.and(bitmaps.get(i));
+        }
+        // Trigrams may come from different fields or positions, so confirm the actual substring
+        RoaringBitmap matches = new RoaringBitmap();
+        candidates.forEach((int id) -> {
+            if (documents.get(id).contains(query)) {
+                matches.add(id);
+            }
+        });
+        return matches;
+    }
+
+    /**
+     * Best matches for a partially typed term: user names starting with it, then user names with a word starting
+     * with it, then designations or skills starting with it, then plain substring hits; ties go by user name.
+     * Single characters only complete user names.
+     */
+    public List<EmployeeSuggestion> suggest(String term, int limit) {
+        String query = normalise(term);
+        if (query.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            // User names iterate in the order of the best hits, so a full page of them needs no other lookup
+            List<Hit> names = new ArrayList<>(limit);
+            for (RoaringBitmap ids : employeesByName.subMap(query, true, query + Character.MAX_VALUE, false).values()) {
+                IntIterator iterator = ids.getIntIterator();
+                while (iterator.hasNext() && names.size() < limit) {
+                    int id = iterator.next();
+                    names.add(new Hit(id, documents.get(id), 0));
+                }
+                if (names.size() == limit) {
+                    break;
+                }
+            }
+            if (names.size() == limit || query.length() < MIN_SCAN_LENGTH) {
+                return toSuggestions(names);
+            }
+            PriorityQueue<Hit> best = new PriorityQueue<>(BEST_FIRST.reversed());
+            RoaringBitmap prefixed = RoaringBitmap.or(
+                    employeesByToken.subMap(query, true, query + Character.MAX_VALUE, false).values().iterator());
+            collect(prefixed, query, limit, best);
+            if (best.size() < limit) {
+                RoaringBitmap rest = containingLocked(query);
+                rest.andNot(prefixed);
+                collect(rest, query, limit, best);
+            }
+            List<Hit> hits = new ArrayList<>(best);
+            hits.sort(BEST_FIRST);
+            return toSuggestions(hits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static List<EmployeeSuggestion> toSuggestions(List<Hit> hits) {
+        return hits.stream()
+                .map(hit -> new EmployeeSuggestion(hit.id(), hit.document().userName(), hit.document().designation()))
+                .toList();
+    }
+
+    private void collect(RoaringBitmap ids, String query, int limit, PriorityQueue<Hit> best) {
+        IntIterator iterator = ids.getIntIterator();
+        while (iterator.hasNext()) {
+            int id = iterator.next();
+            Document document = documents.get(id);
+            Hit hit = new Hit(id, document, document.tier(query));
+            if (best.size() < limit) {
+                best.add(hit);
+            } else if (BEST_FIRST.compare(hit, best.peek()) < 0) {
+                best.poll();
+                best.add(hit);
+            }
+        }
+    }
+
+    private static int toInt(long employeeId) {
+        if (employeeId < 0 || employeeId > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Employee id out of search index range: " + employeeId);
+        }
+        return (int) employeeId;
+    }
+
+    private record Hit(int id, Document document, int tier) {
+    }
+
+    private record Document(String userName, String designation, String name, String[] fields) {
+
+        static Document of(String userName, String designation, Collection<String> skills) {
+            List<String> fields = new ArrayList<>();
+            String name = userName == null ? "" : normalise(userName);
+            fields.add(name);
+            fields.add(designation == null ? "" : normalise(designation));
+            if (skills != null) {
+                skills.stream().filter(Objects::nonNull).map(EmployeeSearchIndex::normalise).forEach(fields::add);
+            }
+            return new Document(userName, designation, name, fields.toArray(String[]::new));
+        }
+
+        boolean contains(String query) {
+            for (String field : fields) {
+                if (field.contains(query)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // 0: name prefix, 1: name word prefix, 2: designation or skill prefix, 3: substring only
+        int tier(String query) {
+            if (name.startsWith(query)) {
+                return 0;
+            }
+            if (hasWordStartingWith(name, query)) {
+                return 1;
+            }
+            for (int i = 1; i < fields.length; i++) {
+                if (fields[i].startsWith(query) || hasWordStartingWith(fields[i], query)) {
+                    return 2;
+                }
+            }
+            return 3;
+        }
+
+        private static boolean hasWordStartingWith(String field, String query) {
+            for (String word : WORD_SEPARATOR.split(field)) {
+                if (word.startsWith(query)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void forEachGram(Consumer<String> action) {
+            Set<String> grams = new HashSet<>();
+            for (String field : fields) {
+                for (int n = 1; n <= GRAM; n++) {
+                    for (int i = 0; i + n <= field.length(); i++) {
+                        grams.add(field.substring(i, i + n));
+                    }
+                }
+            }
+            grams.forEach(action);
+        }
+
+        void forEachToken(Consumer<String> action) {
+            Set<String> tokens = new HashSet<>();
+            for (String field : fields) {
+                if (!field.isEmpty()) {
+                    tokens.add(field);
+                    for (String word : WORD_SEPARATOR.split(field)) {
+                        if (!word.isEmpty()) {
+                            tokens.add(word);
+                        }
+                    }
+                }
+            }
+            tokens.forEach(action);
+        }
+    }
+}
@@ -1,43 +1,70 @@
 package com.ust.service;
 
-import com.ust.client.TimeZoneServiceClient;
+import com.ust.dto.CompactSlots;
+import com.ust.dto.EmployeeSuggestion;
+import com.ust.dto.EmployeeSummary;
+import com.ust.dto.EmployeeWindow;
+import com.ust.dto.NameCount;
 
 import com.ust.model.Employee;
 import com.ust.repo.EmployeeRepository;
+import com.ust.service.EmployeeDistributionCache.Snapshot;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Subquery;
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 public class EmployeeService {
 
+    // Scrollable sort properties, as clients name them, mapped to the entity attributes they sort on
+    private static final Map<String, String> SCROLL_ATTRIBUTES = Map.of("id", "id", "userName", "UserName",
+            "email", "email", "location", "location", "designation", "designation");
+    // Past this many matches an id IN list costs more to bind and plan than repeating the term and skill filters in SQL
+    private static final int MAX_ID_FILTER = 1000;
+
     private final EmployeeRepository employeeRepository;
-    private final TimeZoneServiceClient timeZoneServiceClient;
+    private final TimeZoneOverlapCache timeZoneOverlapCache;
     private final PasswordEncoder passwordEncoder;
+    private final EmployeeDistributionCache distributionCache;
+    private final SkillIndex skillIndex;
+    private final EmployeeSearchIndex searchIndex;
 
     @Autowired
-    public EmployeeService(EmployeeRepository employeeRepository, TimeZoneServiceClient timeZoneServiceClient, PasswordEncoder passwordEncoder) {
+    public EmployeeService(EmployeeRepository employeeRepository, TimeZoneOverlapCache timeZoneOverlapCache, PasswordEncoder passwordEncoder,
+                           EmployeeDistributionCache distributionCache, SkillIndex skillIndex, EmployeeSearchIndex searchIndex) {
         this.employeeRepository = employeeRepository;
-        this.timeZoneServiceClient = timeZoneServiceClient;
+        this.timeZoneOverlapCache = timeZoneOverlapCache;
         this.passwordEncoder = passwordEncoder;
+        this.distributionCache = distributionCache;
+        this.skillIndex = skillIndex;
+        this.searchIndex = searchIndex;
+    }
+
+    public List<ZonedDateTime> getTeamOverlappingHours(List<Long> employeeIds, LocalDate date, int stepMinutes) {
+        return timeZoneOverlapCache.getOverlappingWorkingHours(employeeIds, date, stepMinutes);
     }
 
-    public List<ZonedDateTime> getTeamOverlappingHours(List<Long> employeeIds, LocalDate date) {
-        return timeZoneServiceClient.getOverlappingWorkingHours(employeeIds, date);
+    public CompactSlots getTeamOverlappingSlots(List<Long> employeeIds, LocalDate date, String format, int stepMinutes) {
+        return timeZoneOverlapCache.getOverlappingSlots(employeeIds, date, format, stepMinutes);
     }
 
     @Transactional(readOnly = true)
-    public Page<Employee> getAllEmployeesPaginated(Pageable pageable) {
-        return employeeRepository.findAll(pageable);
+    public Page<EmployeeSummary> getAllEmployeesPaginated(Pageable pageable) {
+        return employeeRepository.findSummaries(null, pageable);
     }
 
     @Transactional(readOnly = true)
@@ -57,13 +84,16 @@ public class EmployeeService {
             throw new RuntimeException("Email already exists");
         }
         employee.setPassword(passwordEncoder.encode(employee.getPassword()));
-        return employeeRepository.save(employee);
+        Employee saved = employeeRepository.save(employee);
+        recordChange(saved.getId(), null, saved);
+        return saved;
     }
 
     @Transactional
     public Employee updateEmployee(Long id, Employee employeeDetails) {
         return employeeRepository.findById(id)
                 .map(employee -> {
+                    Snapshot before = Snapshot.of(employee);
                     employee.setUserName(employeeDetails.getUsername());
                     if (!employee.getEmail().equals(employeeDetails.getEmail()) &&
                             employeeRepository.findByEmail(employeeDetails.getEmail()).isPresent()) {
@@ -75,22 +105,37 @@ public class EmployeeService {
                     employee.setRole(employeeDetails.getRole());
                     employee.setSkills(employeeDetails.getSkills());
                     employee.setTeamMember(employeeDetails.isTeamMember());
-                    return employeeRepository.save(employee);
+                    Employee saved = employeeRepository.save(employee);
+                    recordChange(saved.getId(), before, saved);
+                    return saved;
                 })
                 .orElseThrow(() -> new RuntimeException("Employee not found with id: " + id));
     }
 
     @Transactional
     public void deleteEmployee(Long id) {
+        employeeRepository.findById(id)
+                .ifPresent(employee -> recordChange(id, Snapshot.of(employee), null));
         employeeRepository.deleteById(id);
     }
 
+    private void recordChange(long employeeId, Snapshot before, Employee after) {
+        Snapshot snapshot = after == null ? null : Snapshot.of(after);
+        distributionCache.recordChange(employeeId, snapshot);
+        skillIndex.recordChange(employeeId, before == null ? Set.of() : before.skills(),
+                snapshot == null ? Set.of() : snapshot.skills());
+        searchIndex.recordChange(employeeId, after);
+    }
+
     @Transactional
     public Employee addSkillToEmployee(Long id, String skill) {
         return employeeRepository.findById(id)
                 .map(employee -> {
+                    Snapshot before = Snapshot.of(employee);
                     employee.addSkill(skill);
-                    return employeeRepository.save(employee);
+                    Employee saved = employeeRepository.save(employee);
+                    recordChange(saved.getId(), before, saved);
+                    return saved;
                 })
                 .orElseThrow(() -> new RuntimeException("Employee not found with id: " + id));
     }
@@ -99,31 +144,81 @@ public class EmployeeService {
     public Employee removeSkillFromEmployee(Long id, String skill) {
         return employeeRepository.findById(id)
                 .map(employee -> {
+                    Snapshot before = Snapshot.of(employee);
                     employee.removeSkill(skill);
-                    return employeeRepository.save(employee);
+                    Employee saved = employeeRepository.save(employee);
+                    recordChange(saved.getId(), before, saved);
+                    return saved;
                 })
                 .orElseThrow(() -> new RuntimeException("Employee not found with id: " + id));
     }
 
     @Deprecated
     @Transactional(readOnly = true)
-    public List<Employee> searchEmployees(String searchTerm) {
-        return employeeRepository.searchEmployees(searchTerm);
+    public List<EmployeeSummary> searchEmployees(String searchTerm) {
+        if (!searchIndex.isReady() && !searchTerm.isEmpty()) {
+            return employeeRepository.findSummaries(containing(searchTerm), Sort.by("id"), -1);
+        }
+        return employeeRepository.findSummariesInIdOrder(toList(searchIndex.containing(searchTerm)));
+    }
+
+    public List<EmployeeSuggestion> suggestEmployees(String term, int limit) {
+        return searchIndex.suggest(term, limit);
     }
 
     @Transactional(readOnly = true)
-    public List<Employee> findEmployeesBySkill(String skill) {
-        return employeeRepository.findBySkill(skill);
+    public List<EmployeeSummary> findEmployeesBySkill(String skill) {
+        return employeeRepository.findSummariesInIdOrder(toList(skillIndex.allOf(List.of(skill))));
     }
 
     @Transactional(readOnly = true)
     public long countEmployeesWithSkill(String skill) {
-        return employeeRepository.countEmployeesWithSkill(skill);
+        return skillIndex.count(skill);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<EmployeeSummary> findEmployeesBySkills(Set<String> skills, boolean matchAll, Pageable pageable) {
+        return pageInIdOrder(matchAll ? skillIndex.allOf(skills) : skillIndex.anyOf(skills), pageable);
+    }
+
+    public long countEmployeesBySkills(Set<String> skills, boolean matchAll) {
+        return (matchAll ? skillIndex.allOf(skills) : skillIndex.anyOf(skills)).getLongCardinality();
+    }
+
+    // Only the ids of the requested page are fetched; the bitmap already knows the total
+    private Page<EmployeeSummary> pageInIdOrder(RoaringBitmap ids, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            List<EmployeeSummary> all = employeeRepository.findSummariesInIdOrder(toList(ids));
+            return new PageImpl<>(all, pageable, all.size());
+        }
+        List<Long> pageIds = page(ids, pageable.getOffset(), pageable.getPageSize());
+        return new PageImpl<>(employeeRepository.findSummariesInIdOrder(pageIds), pageable, ids.getLongCardinality());
+    }
+
+    // Ascending ids from position offset onwards, at most limit of them
+    private static List<Long> page(RoaringBitmap ids, long offset, int limit) {
+        List<Long> page = new ArrayList<>(Math.min(limit, ids.getCardinality()));
+        if (offset >= ids.getLongCardinality()) {
+            return page;
+        }
+        PeekableIntIterator iterator = ids.getIntIterator();
+        iterator.advanceIfNeeded(ids.select((int) offset));
+        while (iterator.hasNext() && page.size() < limit) {
+            page.add(Integer.toUnsignedLong(iterator.next()));
+        }
+        return page;
+    }
+
+    private static List<Long> toList(RoaringBitmap ids) {
+        List<Long> list = new ArrayList<>(ids.getCardinality());
+        ids.forEach((int id) -> list.add(Integer.toUnsignedLong(id)));
+        return list;
     }
 
     @Transactional(readOnly = true)
-    public List<Employee> getTeamMembers() {
-        return employeeRepository.findByIsTeamMember(true);
+    public List<EmployeeSummary> getTeamMembers() {
+        return employeeRepository.findSummaries((root, query, cb) -> cb.isTrue(root.get("isTeamMember")),
+                Sort.unsorted(), -1);
     }
 
     @Transactional
@@ -137,36 +232,197 @@ public class EmployeeService {
     }
 
     @Transactional(readOnly = true)
-    public Page<Employee> findEmployees(String searchTerm, Set<String> skills, String location, Integer numberOfEmployees, Pageable pageable) {
-        Specification<Employee> spec = Specification.where(null);
+    public Page<EmployeeSummary> findEmployees(String searchTerm, Set<String> skills, String location, Integer numberOfEmployees, Pageable pageable) {
+        RoaringBitmap ids = matchingIds(searchTerm, skills);
+        if (ids != null) {
+            if (ids.isEmpty()) {
+                return Page.empty(pageable);
+            }
+            if ((location == null || location.isEmpty()) && pageable.getSort().isUnsorted()) {
+                return withExpectedSize(pageInIdOrder(ids, pageable), numberOfEmployees, pageable);
+            }
+        }
+
+        return withExpectedSize(employeeRepository.findSummaries(filters(searchTerm, skills, ids, location), pageable),
+                numberOfEmployees, pageable);
+    }
+
+    // Keyset paging over the same filters as findEmployees: each page seeks past the cursor, so page n costs page 1
+    @Transactional(readOnly = true)
+    public EmployeeWindow scrollEmployees(String searchTerm, Set<String> skills, String location, Sort sort,
+                                          String cursor, int size, boolean withTotal) {
+        if (sort.stream().count() > 1) {
+            throw new IllegalArgumentException("Scrolling supports a single sort property");
+        }
+        Sort.Order order = sort.stream().findFirst().orElse(Sort.Order.asc("id"));
+        String property = order.getProperty();
+        String attribute = SCROLL_ATTRIBUTES.get(property);
+        if (attribute == null) {
+            throw new IllegalArgumentException("Cannot scroll by " + property);
+        }
+        EmployeeCursor after = cursor == null || cursor.isEmpty() ? null : EmployeeCursor.decode(cursor);
+        if (after != null && (!after.property().equals(property) || after.direction() != order.getDirection())) {
+            throw new IllegalArgumentException("Cursor was issued for a different sort");
+        }
+
+        RoaringBitmap ids = matchingIds(searchTerm, skills);
+        if (ids != null && ids.isEmpty()) {
+            return new EmployeeWindow(List.of(), null, withTotal ? 0L : null);
+        }
+        // With no location filter the bitmap alone knows the total and, in id order, the next page of ids
+        boolean bitmapOnly = ids != null && (location == null || location.isEmpty());
+        List<EmployeeSummary> rows;
+        Long total;
+        if (bitmapOnly && property.equals("id") && order.isAscending()) {
+            rows = employeeRepository.findSummariesInIdOrder(idsAfter(ids, after == null ? -1 : after.id(), size + 1));
+            total = withTotal ? ids.getLongCardinality() : null;
+        } else {
+            Specification<Employee> spec = Specification.where(filters(searchTerm, skills, ids, location));
+            Specification<Employee> page = spec.and(orderedBy(attribute, order.getDirection()));
+            if (after != null) {
+                page = page.and(seek(attribute, after));
+            }
+            rows = employeeRepository.findSummaries(page, Sort.unsorted(), size + 1);
+            total = !withTotal ? null : bitmapOnly ? ids.getLongCardinality() : employeeRepository.count(spec);
+        }
 
-        if (searchTerm != null && !searchTerm.isEmpty()) {
-            spec = spec.and((root, query, cb) ->
-                    cb.or(
-                            cb.like(cb.lower(root.get("userName")), "%" + searchTerm.toLowerCase() + "%"),
-                            cb.like(cb.lower(root.get("designation")), "%" + searchTerm.toLowerCase() + "%"),
-                            cb.like(cb.lower(root.join("skills")), "%" + searchTerm.toLowerCase() + "%")
-                    )
-            );
+        String next = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            EmployeeSummary last = rows.get(size - 1);
+            next = new EmployeeCursor(property, order.getDirection(), sortValue(last, property), last.id()).encode();
         }
+        return new EmployeeWindow(rows, next, total);
+    }
+
+    // Ordered in the criteria query itself: a Sort would resolve UserName through its getter as userName
+    private static Specification<Employee> orderedBy(String attribute, Sort.Direction direction) {
+        return (root, query, cb) -> {
+            if (query != null) {
+                query.orderBy(direction.isAscending()
+                        ? List.of(cb.asc(root.get(attribute)), cb.asc(root.get("id")))
+                        : List.of(cb.desc(root.get(attribute)), cb.desc(root.get("id"))));
+            }
+            return null;
+        };
+    }
 
+    private static Specification<Employee> seek(String attribute, EmployeeCursor after) {
+        return (root, query, cb) -> {
+            boolean ascending = after.direction().isAscending();
+            if (attribute.equals("id")) {
+                return ascending ? cb.greaterThan(root.get("id"), after.id()) : cb.lessThan(root.get("id"), after.id());
+            }
+            var value = root.<String>get(attribute);
+            var id = root.<Long>get("id");
+            return ascending
+                    ? cb.or(cb.greaterThan(value, after.value()), cb.and(cb.equal(value, after.value()), cb.greaterThan(id, after.id())))
+                    : cb.or(cb.lessThan(value, after.value()), cb.and(cb.equal(value, after.value()), cb.lessThan(id, after.id())));
+        };
+    }
+
+    private static String sortValue(EmployeeSummary employee, String property) {
+        return switch (property) {
+            case "userName" -> employee.userName();
+            case "email" -> employee.email();
+            case "location" -> employee.location();
+            case "designation" -> employee.designation();
+            default -> "";
+        };
+    }
+
+    private static List<Long> idsAfter(RoaringBitmap ids, long lastId, int limit) {
+        List<Long> page = new ArrayList<>(limit);
+        PeekableIntIterator iterator = ids.getIntIterator();
+        iterator.advanceIfNeeded((int) (lastId + 1));
+        while (iterator.hasNext() && page.size() < limit) {
+            page.add(Integer.toUnsignedLong(iterator.next()));
+        }
+        return page;
+    }
+
+    // Term and skills both resolve to id bitmaps in memory; null when neither filter is given, or when the search
+    // index is still loading and the database has to apply them
+    private RoaringBitmap matchingIds(String searchTerm, Set<String> skills) {
+        boolean hasTerm = searchTerm != null && !searchTerm.isEmpty();
+        if (hasTerm && !searchIndex.isReady()) {
+            return null;
+        }
+        RoaringBitmap ids = null;
+        if (hasTerm) {
+            ids = searchIndex.containing(searchTerm);
+        }
         if (skills != null && !skills.isEmpty()) {
-            spec = spec.and((root, query, cb) -> {
-                if (query != null) {
-                    query.distinct(true);
-                }
-                return root.join("skills").in(skills);
-            });
+            RoaringBitmap withSkills = skillIndex.anyOf(skills);
+            ids = ids == null ? withSkills : RoaringBitmap.and(ids, withSkills);
         }
+        return ids;
+    }
 
+    // Null when there is nothing for the database to filter on. A small match set goes in as its ids; a large or
+    // unresolved one is handed to the database as the term and skill predicates, so the statement stays bounded
+    private static Specification<Employee> filters(String searchTerm, Set<String> skills, RoaringBitmap ids, String location) {
+        Specification<Employee> spec = null;
+        if (ids != null && ids.getLongCardinality() <= MAX_ID_FILTER) {
+            List<Long> idList = toList(ids);
+            spec = (root, query, cb) -> root.get("id").in(idList);
+        } else {
+            Specification<Employee> term = containing(searchTerm);
+            Specification<Employee> withSkills = withAnySkill(skills);
+            if (term != null || withSkills != null) {
+                spec = Specification.where(term).and(withSkills);
+            }
+        }
         if (location != null && !location.isEmpty()) {
-            spec = spec.and((root, query, cb) ->
-                    cb.equal(cb.lower(root.get("location")), location.toLowerCase())
-            );
+            Specification<Employee> atLocation = (root, query, cb) ->
+                    cb.equal(cb.lower(root.get("location")), location.toLowerCase());
+            spec = spec == null ? atLocation : spec.and(atLocation);
         }
+        return spec;
+    }
+
+    // Same match as EmployeeSearchIndex.containing: user name, designation or any skill contains the term, ignoring case
+    private static Specification<Employee> containing(String searchTerm) {
+        if (searchTerm == null || searchTerm.isEmpty()) {
+            return null;
+        }
+        String term = EmployeeSearchIndex.normalise(searchTerm);
+        String pattern = "%" + term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        return (root, query, cb) -> {
+            if (term.isEmpty()) {
+                return cb.disjunction();
+            }
+            Subquery<Integer> skill = query.subquery(Integer.class);
+            Join<Employee, String> skills = skill.correlate(root).join("skills");
+            skill.select(cb.literal(1)).where(cb.like(cb.lower(skills), pattern, '\\'));
+            return cb.or(cb.like(cb.lower(root.get("UserName")), pattern, '\\'),
+                    cb.like(cb.lower(root.get("designation")), pattern, '\\'), cb.exists(skill));
+        };
+    }
 
-        Page<Employee> results = employeeRepository.findAll(spec, pageable);
+    // Same match as SkillIndex.anyOf
+    private static Specification<Employee> withAnySkill(Set<String> skills) {
+        if (skills == null || skills.isEmpty()) {
+            return null;
+        }
+        Set<String> normalised = new HashSet<>();
+        for (String skill : skills) {
+            if (skill != null && !skill.isBlank()) {
+                normalised.add(SkillIndex.normalise(skill));
+            }
+        }
+        return (root, query, cb) -> {
+            if (normalised.isEmpty()) {
+                return cb.disjunction();
+            }
+            Subquery<Integer> skill = query.subquery(Integer.class);
+            Join<Employee, String> held = skill.correlate(root).join("skills");
+            skill.select(cb.literal(1)).where(cb.lower(cb.trim(held)).in(normalised));
+            return cb.exists(skill);
+        };
+    }
 
+    private static <T> Page<T> withExpectedSize(Page<T> results, Integer numberOfEmployees, Pageable pageable) {
         if (numberOfEmployees != null && numberOfEmployees > 0) {
             if (results.getTotalElements() != numberOfEmployees) {
                 return Page.empty(pageable);
@@ -178,20 +434,26 @@ public class EmployeeService {
 
     @Transactional(readOnly = true)
     public Map<String, Long> getSkillsDistribution() {
-        List<Employee> employees = employeeRepository.findAll();
-        Map<String, Long> distribution = new HashMap<>();
-        for (Employee employee : employees) {
-            for (String skill : employee.getSkills()) {
-                distribution.put(skill, distribution.getOrDefault(skill, 0L) + 1);
-            }
+        if (distributionCache.isEnabled()) {
+            return distributionCache.skillCounts();
         }
-        return distribution;
+        return toMap(employeeRepository.countBySkill());
     }
 
     @Transactional(readOnly = true)
     public Map<String, Long> getLocationDistribution() {
-        return employeeRepository.findAll().stream()
-                .collect(Collectors.groupingBy(Employee::getLocation, Collectors.counting()));
+        if (distributionCache.isEnabled()) {
+            return distributionCache.locationCounts();
+        }
+        return toMap(employeeRepository.countByLocation());
+    }
+
+    private static Map<String, Long> toMap(List<NameCount> rows) {
+        Map<String, Long> distribution = new LinkedHashMap<>();
+        for (NameCount row : rows) {
+            distribution.put(row.getName(), row.getTotal());
+        }
+        return distribution;
     }
 
     @Transactional
@@ -207,20 +469,18 @@ public class EmployeeService {
 
     @Transactional(readOnly = true)
     public List<String> getAllUniqueSkills() {
-        return employeeRepository.findAll().stream()
-                .flatMap(e -> e.getSkills().stream())
-                .distinct()
-                .sorted()
-                .collect(Collectors.toList());
+        if (distributionCache.isEnabled()) {
+            return distributionCache.skills();
+        }
+        return employeeRepository.findDistinctSkills();
     }
 
     @Transactional(readOnly = true)
     public List<String> getAllUniqueLocations() {
-        return employeeRepository.findAll().stream()
-                .map(Employee::getLocation)
-                .distinct()
-                .sorted()
-                .collect(Collectors.toList());
+        if (distributionCache.isEnabled()) {
+            return distributionCache.locations();
+        }
+        return employeeRepository.findDistinctLocations();
     }
 
     public boolean existsByEmail(String email) {
@@ -0,0 +1,157 @@
+package com.ust.service;
+
+import com.ust.dto.EmployeeSkill;
+import com.ust.repo.EmployeeRepository;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index from lower-cased skill to a compressed bitmap of the employee ids holding it. Seeded once from
+ * the skills join and then moved by the before/after skill sets of every write once its transaction commits, so
+ * "has all of", "has any of" and counts are bitmap operations and only the requested page touches the database.
+ */
+@Component
+public class SkillIndex {
+
+    private final EmployeeRepository employeeRepository;
+    private final Map<String, RoaringBitmap> employeesBySkill = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Autowired
+    public SkillIndex(EmployeeRepository employeeRepository) {
+        this.employeeRepository = employeeRepository;
+    }
+
+    public static String normalise(String skill) {
+        return skill.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // The snapshot is read under the write lock: a change committed meanwhile is either in it or applied after it
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        lock.writeLock().lock();
+        try {
+            employeesBySkill.clear();
+            for (EmployeeSkill row : employeeRepository.findAllSkillAssignments()) {
+                employeesBySkill.computeIfAbsent(normalise(row.getSkill()), skill -> new RoaringBitmap())
+                        .add(toInt(row.getEmployeeId()));
+            }
+            employeesBySkill.values().forEach(RoaringBitmap::runOptimize);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Either side may be empty for a create or a delete
+    public void recordChange(long employeeId, Set<String> before, Set<String> after) {
+        Set<String> removed = normalise(before);
+        Set<String> added = normalise(after);
+        Set<String> kept = new HashSet<>(removed);
+        kept.retainAll(added);
+        removed.removeAll(kept);
+        added.removeAll(kept);
+        if (!removed.isEmpty() || !added.isEmpty()) {
+            int id = toInt(employeeId);
+            AfterCommit.run(() -> apply(id, removed, added));
+        }
+    }
+
+    private void apply(int id, Set<String> removed, Set<String> added) {
+        lock.writeLock().lock();
+        try {
+            for (String skill : removed) {
+                RoaringBitmap ids = employeesBySkill.get(skill);
+                if (ids != null) {
+                    ids.remove(id);
+                    if (ids.isEmpty()) {
+                        employeesBySkill.remove(skill);
+                    }
+                }
+            }
+            for (String skill : added) {
+                employeesBySkill.computeIfAbsent(skill, key -> new RoaringBitmap()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public RoaringBitmap allOf(Collection<String> skills) {
+        lock.readLock().lock();
+        try {
+            List<RoaringBitmap> bitmaps = new ArrayList<>();
+            for (String skill : normalise(skills)) {
+                RoaringBitmap ids = employeesBySkill.get(skill);
+                if (ids == null) {
+                    return new RoaringBitmap();
+                }
+                bitmaps.add(ids);
+            }
+            if (bitmaps.isEmpty()) {
+                return new RoaringBitmap();
+            }
+            // Start from the rarest skill so every intersection only shrinks a small bitmap
+            bitmaps.sort(Comparator.comparingLong(RoaringBitmap::getLongCardinality));
+            RoaringBitmap result = bitmaps.get(0).clone();
+            for (int i = 1; i < bitmaps.size() && !result.isEmpty(); i++) {
+                result.and(bitmaps.get(i));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public RoaringBitmap anyOf(Collection<String> skills) {
+        lock.readLock().lock();
+        try {
+            List<RoaringBitmap> bitmaps = new ArrayList<>();
+            for (String skill : normalise(skills)) {
+                RoaringBitmap ids = employeesBySkill.get(skill);
+                if (ids != null) {
+                    bitmaps.add(ids);
+                }
+            }
+            return RoaringBitmap.or(bitmaps.iterator());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long count(String skill) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap ids = employeesBySkill.get(normalise(skill));
+            return ids == null ? 0 : ids.getLongCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static Set<String> normalise(Collection<String> skills) {
+        Set<String> normalised = new HashSet<>();
+        if (skills != null) {
+            for (String skill : skills) {
+                if (skill != null && !skill.isBlank()) {
+                    normalised.add(normalise(skill));
+                }
+            }
+        }
+        return normalised;
+    }
+
+    // Ids come from an IDENTITY column; one that no longer fits a bitmap slot is a deployment problem, not a query one
+    private static int toInt(long employeeId) {
+        if (employeeId < 0 || employeeId > 0xFFFFFFFFL) {
+            throw new IllegalStateException("Employee id out of skill index range: " + employeeId);
+        }
+        return (int) employeeId;
+    }
+}
@@ -0,0 +1,167 @@
+package com.ust.service;
+
+import com.ust.client.TimeZoneServiceClient;
+import com.ust.dto.CompactSlots;
+import feign.FeignException;
+import feign.RetryableException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Sits in front of the timezone service's overlap calls. Identical requests, keyed by the sorted distinct team,
+ * date, format and step, share one in-flight call and then a short-lived result; the calls that do go out are
+ * capped by a semaphore so a slow timezone service ties up a bounded number of request threads. Running out of
+ * permits, timeouts and the timezone service reporting itself unavailable all surface as
+ * {@link TimeZoneServiceUnavailableException}.
+ */
+@Component
+public class TimeZoneOverlapCache {
+
+    private final TimeZoneServiceClient timeZoneServiceClient;
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final Semaphore permits;
+    private final long permitWaitMillis;
+    private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<Key, Entry> results;
+
+    @Autowired
+    public TimeZoneOverlapCache(TimeZoneServiceClient timeZoneServiceClient,
+                                @Value("${employee.overlap-cache.ttl:30s}") Duration ttl,
+                                @Value("${employee.overlap-cache.max-entries:1024}") int maxEntries,
+                                @Value("${employee.timezone-client.max-concurrent-calls:16}") int maxConcurrentCalls,
+                                @Value("${employee.timezone-client.permit-wait:500ms}") Duration permitWait) {
+        this.timeZoneServiceClient = timeZoneServiceClient;
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+        this.permits = new Semaphore(maxConcurrentCalls);
+        this.permitWaitMillis = permitWait.toMillis();
+        this.results = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > TimeZoneOverlapCache.this.maxEntries;
+            }
+        };
+    }
+
+    public List<ZonedDateTime> getOverlappingWorkingHours(List<Long> employeeIds, LocalDate date, int stepMinutes) {
+        List<Long> team = normalise(employeeIds);
+        return get(new Key(team, date, null, stepMinutes),
+                () -> List.copyOf(timeZoneServiceClient.getOverlappingWorkingHours(team, date, stepMinutes)));
+    }
+
+    public CompactSlots getOverlappingSlots(List<Long> employeeIds, LocalDate date, String format, int stepMinutes) {
+        List<Long> team = normalise(employeeIds);
+        return get(new Key(team, date, format, stepMinutes),
+                () -> timeZoneServiceClient.getOverlappingSlots(team, date, format, stepMinutes));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T get(Key key, Supplier<T> call) {
+        Object cached = cached(key);
+        if (cached != null) {
+            return (T) cached;
+        }
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(key, mine);
+        if (leader != null) {
+            return (T) await(leader);
+        }
+        try {
+            // A previous leader may have stored its result between the lookup above and claiming the key
+            cached = cached(key);
+            if (cached == null) {
+                cached = callLimited(call);
+                store(key, cached);
+            }
+            mine.complete(cached);
+            return (T) cached;
+        } catch (Throwable e) {
+            // Errors too, or the followers joined on this call would wait forever
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private <T> T callLimited(Supplier<T> call) {
+        try {
+            if (!permits.tryAcquire(permitWaitMillis, TimeUnit.MILLISECONDS)) {
+                throw new TimeZoneServiceUnavailableException("Too many concurrent timezone service calls");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimeZoneServiceUnavailableException("Interrupted waiting for the timezone service", e);
+        }
+        try {
+            return call.get();
+        } catch (RetryableException | FeignException.BadGateway | FeignException.ServiceUnavailable
+                 | FeignException.GatewayTimeout e) {
+            // Connect and read timeouts, a failing gateway, and no instance behind the load balancer, which
+            // Spring Cloud answers with a 503 of its own rather than an exception
+            throw new TimeZoneServiceUnavailableException("Timezone service unavailable", e);
+        } finally {
+            permits.release();
+        }
+    }
+
+    // Followers see exactly what the leader saw, including its failure
+    private static Object await(CompletableFuture<Object> leader) {
+        try {
+            return leader.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private Object cached(Key key) {
+        synchronized (results) {
+            Entry entry = results.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (System.nanoTime() - entry.storedAt() > ttlNanos) {
+                results.remove(key);
+                return null;
+            }
+            return entry.value();
+        }
+    }
+
+    private void store(Key key, Object value) {
+        if (value != null && ttlNanos > 0) {
+            synchronized (results) {
+                results.put(key, new Entry(value, System.nanoTime()));
+            }
+        }
+    }
+
+    private static List<Long> normalise(List<Long> employeeIds) {
+        return employeeIds.stream().filter(Objects::nonNull).distinct().sorted().toList();
+    }
+
+    private record Key(List<Long> team, LocalDate date, String format, int stepMinutes) {
+    }
+
+    private record Entry(Object value, long storedAt) {
+    }
+}
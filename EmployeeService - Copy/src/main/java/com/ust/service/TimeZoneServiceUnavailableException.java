@@ -0,0 +1,13 @@
+package com.ust.service;
+
+// The timezone service could not be reached in time, or this instance is already waiting on too many calls to it
+public class TimeZoneServiceUnavailableException extends RuntimeException {
+
+    public TimeZoneServiceUnavailableException(String message) {
+        super(message);
+    }
+
+    public TimeZoneServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,42 @@
+package com.ust.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmployeeCursorTest {
+
+    @Test
+    void encodedCursorDecodesToItself() {
+        for (String property : List.of("id", "userName", "email", "location", "designation")) {
+            for (Sort.Direction direction : Sort.Direction.values()) {
+                for (String value : List.of("", "Kochi", "Zoë Ñúñez 東京", "a,b/c+d=e")) {
+                    for (long id : List.of(0L, 1L, 4_294_967_295L, Long.MAX_VALUE)) {
+                        EmployeeCursor cursor = new EmployeeCursor(property, direction, value, id);
+                        String token = cursor.encode();
+                        // Tokens travel as query parameters, so they must be URL safe as they are
+                        assertThat(token).matches("[A-Za-z0-9_-]+");
+                        assertThat(EmployeeCursor.decode(token)).isEqualTo(cursor);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void malformedTokensAreRejected() {
+        String valid = new EmployeeCursor("email", Sort.Direction.DESC, "a@x.com", 42L).encode();
+        List<String> tokens = List.of("", "not a cursor", "%%%", valid.substring(0, valid.length() - 3),
+                Base64.getUrlEncoder().encodeToString(new byte[]{0, 5, 'e'}));
+        for (String token : tokens) {
+            assertThatThrownBy(() -> EmployeeCursor.decode(token)).as("'%s'", token)
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Invalid cursor");
+        }
+    }
+}
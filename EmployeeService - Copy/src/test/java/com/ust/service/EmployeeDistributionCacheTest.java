@@ -0,0 +1,78 @@
+package com.ust.service;
+
+import com.ust.dto.EmployeeLocation;
+import com.ust.dto.EmployeeSkill;
+import com.ust.repo.EmployeeRepository;
+import com.ust.service.EmployeeDistributionCache.Snapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EmployeeDistributionCacheTest {
+
+    private final EmployeeRepository repository = mock(EmployeeRepository.class);
+    private final EmployeeDistributionCache cache = new EmployeeDistributionCache(repository, true);
+
+    @Test
+    void changeTheSeedAlreadySawIsNotCountedTwice() {
+        when(repository.findAllLocations()).thenReturn(List.of(location(1L, "Paris"), location(2L, "Pune")));
+        when(repository.findAllSkillAssignments()).thenReturn(List.of(skill(1L, "Java"), skill(2L, "Java"),
+                skill(2L, "SQL")));
+        cache.load();
+
+        // Employee 1's write committed before the seed read it, and its callback only runs now
+        cache.recordChange(1L, new Snapshot("Paris", Set.of("Java")));
+
+        assertThat(cache.locationCounts()).isEqualTo(Map.of("Paris", 1L, "Pune", 1L));
+        assertThat(cache.skillCounts()).isEqualTo(Map.of("Java", 2L, "SQL", 1L));
+    }
+
+    @Test
+    void updatesAndDeletesMoveTheCounters() {
+        when(repository.findAllLocations()).thenReturn(List.of(location(1L, "Paris"), location(2L, "Pune")));
+        when(repository.findAllSkillAssignments()).thenReturn(List.of(skill(1L, "Java"), skill(2L, "SQL")));
+        cache.load();
+
+        cache.recordChange(1L, new Snapshot("Pune", Set.of("SQL", "Go")));
+        cache.recordChange(2L, null);
+        cache.recordChange(3L, new Snapshot("Oslo", Set.of("Java")));
+
+        assertThat(cache.locationCounts()).isEqualTo(Map.of("Pune", 1L, "Oslo", 1L));
+        assertThat(cache.skillCounts()).isEqualTo(Map.of("SQL", 1L, "Go", 1L, "Java", 1L));
+        assertThat(cache.locations()).containsExactly("Oslo", "Pune");
+    }
+
+    private static EmployeeLocation location(long id, String location) {
+        return new EmployeeLocation() {
+            @Override
+            public long getEmployeeId() {
+                return id;
+            }
+
+            @Override
+            public String getLocation() {
+                return location;
+            }
+        };
+    }
+
+    private static EmployeeSkill skill(long id, String skill) {
+        return new EmployeeSkill() {
+            @Override
+            public long getEmployeeId() {
+                return id;
+            }
+
+            @Override
+            public String getSkill() {
+                return skill;
+            }
+        };
+    }
+}
@@ -0,0 +1,194 @@
+package com.ust.service;
+
+import com.ust.dto.EmployeeSearchFields;
+import com.ust.dto.EmployeeSkill;
+import com.ust.dto.EmployeeSuggestion;
+import com.ust.model.Employee;
+import com.ust.repo.EmployeeRepository;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EmployeeSearchIndexTest {
+
+    // A small alphabet so that grams collide across fields and positions
+    private static final String ALPHABET = "abcab -";
+
+    private final EmployeeRepository repository = mock(EmployeeRepository.class);
+    private final EmployeeSearchIndex index = new EmployeeSearchIndex(repository);
+    private final Map<Integer, List<String>> fields = new TreeMap<>();
+
+    @Test
+    void containingMatchesStringContains() {
+        Random random = new Random(22);
+        loadRandomEmployees(random, 400);
+
+        for (int i = 0; i < 500; i++) {
+            String query = randomText(random, 1 + random.nextInt(6));
+            if (query.isBlank()) {
+                continue;
+            }
+            String normalised = query.trim().toLowerCase(Locale.ROOT);
+            List<Integer> expected = fields.entrySet().stream()
+                    .filter(entry -> entry.getValue().stream().anyMatch(field -> field.contains(normalised)))
+                    .map(Map.Entry::getKey)
+                    .toList();
+            assertThat(toList(index.containing(query))).as("'%s'", query).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void suggestionsAreTheBestRankedSubstringHits() {
+        Random random = new Random(23);
+        loadRandomEmployees(random, 400);
+
+        for (int i = 0; i < 300; i++) {
+            String query = randomText(random, 1 + random.nextInt(4)).trim();
+            if (query.isEmpty()) {
+                continue;
+            }
+            int limit = 1 + random.nextInt(20);
+            assertThat(index.suggest(query, limit)).extracting(EmployeeSuggestion::id).as("'%s' %d", query, limit)
+                    .isEqualTo(bruteForceSuggest(query.toLowerCase(Locale.ROOT), limit));
+        }
+    }
+
+    @Test
+    void changeCommittedDuringLoadIsNotLost() throws Exception {
+        Employee renamed = new Employee("x@x.com");
+        renamed.setUserName("Zed");
+        renamed.setDesignation("Tester");
+        Thread writer = new Thread(() -> index.recordChange(1L, renamed));
+        when(repository.findAllSkillAssignments()).thenReturn(List.of());
+        when(repository.findAllSearchFields()).thenAnswer(invocation -> {
+            // The write lands after this snapshot was read, but before the load installs it
+            writer.start();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (writer.getState() != Thread.State.WAITING && writer.isAlive() && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            return List.of(row(1, "Amy", "Developer"));
+        });
+
+        assertThat(index.isReady()).isFalse();
+        index.load();
+        writer.join();
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.containing("zed")).containsExactly(1);
+        assertThat(index.containing("amy")).isEmpty();
+    }
+
+    private void loadRandomEmployees(Random random, int count) {
+        List<EmployeeSearchFields> rows = new ArrayList<>();
+        List<EmployeeSkill> skills = new ArrayList<>();
+        for (int id = 1; id <= count; id++) {
+            String name = randomText(random, random.nextInt(9));
+            String designation = random.nextInt(10) == 0 ? null : randomText(random, random.nextInt(9));
+            rows.add(row(id, name, designation));
+            List<String> normalised = new ArrayList<>(List.of(name.trim().toLowerCase(Locale.ROOT),
+                    designation == null ? "" : designation.trim().toLowerCase(Locale.ROOT)));
+            for (int s = random.nextInt(3); s > 0; s--) {
+                String skill = randomText(random, 1 + random.nextInt(6)).toUpperCase(Locale.ROOT);
+                skills.add(skill(id, skill));
+                normalised.add(skill.trim().toLowerCase(Locale.ROOT));
+            }
+            fields.put(id, normalised);
+        }
+        when(repository.findAllSearchFields()).thenReturn(rows);
+        when(repository.findAllSkillAssignments()).thenReturn(skills);
+        index.load();
+    }
+
+    private List<Long> bruteForceSuggest(String query, int limit) {
+        List<int[]> hits = new ArrayList<>();
+        fields.forEach((id, text) -> {
+            int tier = tier(text, query);
+            if (tier < 4) {
+                hits.add(new int[]{tier, id});
+            }
+        });
+        hits.sort(Comparator.<int[]>comparingInt(hit -> hit[0])
+                .thenComparing(hit -> fields.get(hit[1]).get(0))
+                .thenComparingInt(hit -> hit[1]));
+        return hits.stream().limit(limit).map(hit -> (long) hit[1]).toList();
+    }
+
+    // 0: name prefix, 1: name word prefix, 2: other field or word prefix, 3: substring, 4: no match
+    private static int tier(List<String> text, String query) {
+        String name = text.get(0);
+        if (name.startsWith(query)) {
+            return 0;
+        }
+        // Single characters only complete user names
+        if (query.length() < 2) {
+            return 4;
+        }
+        if (hasWordStartingWith(name, query)) {
+            return 1;
+        }
+        for (String field : text.subList(1, text.size())) {
+            if (field.startsWith(query) || hasWordStartingWith(field, query)) {
+                return 2;
+            }
+        }
+        return text.stream().anyMatch(field -> field.contains(query)) ? 3 : 4;
+    }
+
+    private static boolean hasWordStartingWith(String field, String query) {
+        return Arrays.stream(field.split("[^\\p{L}\\p{N}]+")).anyMatch(word -> word.startsWith(query));
+    }
+
+    private static String randomText(Random random, int length) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            text.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return random.nextBoolean() ? text.toString() : text.toString().toUpperCase(Locale.ROOT);
+    }
+
+    private static List<Integer> toList(RoaringBitmap ids) {
+        List<Integer> list = new ArrayList<>();
+        ids.forEach((int id) -> list.add(id));
+        return list;
+    }
+
+    private static EmployeeSearchFields row(long id, String userName, String designation) {
+        return new EmployeeSearchFields() {
+            @Override
+            public long getId() {
+                return id;
+            }
+
+            @Override
+            public String getUserName() {
+                return userName;
+            }
+
+            @Override
+            public String getDesignation() {
+                return designation;
+            }
+        };
+    }
+
+    private static EmployeeSkill skill(long employeeId, String skill) {
+        return new EmployeeSkill() {
+            @Override
+            public long getEmployeeId() {
+                return employeeId;
+            }
+
+            @Override
+            public String getSkill() {
+                return skill;
+            }
+        };
+    }
+}
@@ -0,0 +1,140 @@
+package com.ust.service;
+
+import com.ust.model.Employee;
+import com.ust.repo.EmployeeRepository;
+import com.ust.dto.EmployeeSummary;
+import com.ust.dto.EmployeeWindow;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EmployeeServiceFindEmployeesTest {
+
+    private static final List<String> LOCATIONS = List.of("Kochi", "Pune", "London");
+    private static final List<String> SKILLS = List.of("Java", "Spring", "100%_Go");
+
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private SkillIndex skillIndex;
+    @Autowired
+    private EmployeeSearchIndex searchIndex;
+
+    private List<Employee> employees;
+
+    @BeforeAll
+    void seed() {
+        Random random = new Random(21);
+        List<Employee> rows = new ArrayList<>();
+        for (int i = 0; i < 4000; i++) {
+            Employee employee = new Employee("find" + i + "@x.com");
+            employee.setUserName((i % 3 == 0 ? "Dev " : "Ops ") + i);
+            employee.setPassword("secret");
+            employee.setLocation(LOCATIONS.get(random.nextInt(LOCATIONS.size())));
+            employee.setDesignation(i % 4 == 0 ? "Engineer" : "Analyst");
+            employee.setRole("USER");
+            employee.setSkills(new HashSet<>(List.of(SKILLS.get(random.nextInt(SKILLS.size())))));
+            rows.add(employee);
+        }
+        employees = employeeRepository.saveAll(rows);
+        skillIndex.load();
+        searchIndex.load();
+    }
+
+    @AfterAll
+    void cleanUp() {
+        employeeRepository.deleteAll(employees);
+        skillIndex.load();
+        searchIndex.load();
+    }
+
+    // Each term or skill filter matches well over a thousand ids, so it goes to the database as predicates rather
+    // than as ids, and must select the same rows
+    @Test
+    void largeMatchSetsFilterLikeTheIndexes() {
+        Pageable byName = PageRequest.of(1, 50, Sort.by("id").descending());
+        assertMatches(employeeService.findEmployees("dev", null, "Pune", null, byName),
+                employee -> employee.getUserName().startsWith("Dev") && employee.getLocation().equals("Pune"), byName);
+        assertMatches(employeeService.findEmployees(null, Set.of("java", "Spring"), "kochi", null, byName),
+                employee -> (employee.getSkills().contains("Java") || employee.getSkills().contains("Spring"))
+                        && employee.getLocation().equals("Kochi"), byName);
+        assertMatches(employeeService.findEmployees("r", Set.of("Spring"), "London", null, byName),
+                employee -> employee.getSkills().contains("Spring") && employee.getLocation().equals("London"), byName);
+        // The literal "%_" must not act as wildcards
+        assertMatches(employeeService.findEmployees("0%_g", null, "Pune", null, byName),
+                employee -> employee.getSkills().contains("100%_Go") && employee.getLocation().equals("Pune"), byName);
+    }
+
+    @Test
+    void scrollingVisitsEveryMatchOnceInSortOrder() {
+        Map<String, Function<Employee, String>> properties = Map.of("id", employee -> "",
+                "userName", Employee::getUserName, "email", Employee::getEmail,
+                "location", Employee::getLocation, "designation", Employee::getDesignation);
+        Predicate<Employee> dev = employee -> employee.getUserName().startsWith("Dev");
+        Predicate<Employee> spring = employee -> employee.getSkills().contains("Spring");
+        // Term or skill alone match over a thousand ids and page through SQL predicates; both together fit an id list
+        scrollMatches("dev", null, dev, properties);
+        scrollMatches(null, Set.of("spring"), spring, properties);
+        scrollMatches("dev", Set.of("spring"), dev.and(spring), properties);
+    }
+
+    private void scrollMatches(String searchTerm, Set<String> skills, Predicate<Employee> matches,
+                               Map<String, Function<Employee, String>> properties) {
+        for (String location : Arrays.asList(null, "Pune")) {
+            properties.forEach((property, value) -> {
+                for (Sort.Direction direction : Sort.Direction.values()) {
+                    Comparator<Employee> order = Comparator.comparing(value).thenComparingLong(Employee::getId);
+                    List<Long> expected = employees.stream()
+                            .filter(matches.and(employee -> location == null || employee.getLocation().equals(location)))
+                            .sorted(direction.isAscending() ? order : order.reversed())
+                            .map(Employee::getId)
+                            .toList();
+
+                    List<Long> scrolled = new ArrayList<>();
+                    String cursor = null;
+                    do {
+                        EmployeeWindow window = employeeService.scrollEmployees(searchTerm, skills, location,
+                                Sort.by(direction, property), cursor, 97, cursor == null);
+                        if (cursor == null) {
+                            assertThat(window.totalElements()).isEqualTo(expected.size());
+                        } else {
+                            assertThat(window.totalElements()).isNull();
+                        }
+                        assertThat(window.content()).isNotEmpty();
+                        window.content().stream().map(EmployeeSummary::id).forEach(scrolled::add);
+                        cursor = window.nextCursor();
+                    } while (cursor != null);
+
+                    assertThat(scrolled).as("%s %s %s %s %s", searchTerm, skills, location, property, direction).isEqualTo(expected);
+                }
+            });
+        }
+    }
+
+    private void assertMatches(Page<EmployeeSummary> page, Predicate<Employee> expected,
+                               Pageable pageable) {
+        List<Long> ids = employees.stream().filter(expected).map(Employee::getId)
+                .sorted(Comparator.reverseOrder()).toList();
+        assertThat(ids.size()).isGreaterThan(100);
+        assertThat(page.getTotalElements()).isEqualTo(ids.size());
+        assertThat(page.getContent()).extracting(EmployeeSummary::id)
+                .containsExactlyElementsOf(ids.subList((int) pageable.getOffset(), (int) pageable.getOffset() + 50));
+    }
+}
@@ -0,0 +1,101 @@
+package com.ust.service;
+
+import com.ust.dto.EmployeeSummary;
+import com.ust.model.Employee;
+import com.ust.repo.EmployeeRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EmployeeSummaryStatementsTest {
+
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private SkillIndex skillIndex;
+    @Autowired
+    private EmployeeSearchIndex searchIndex;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private List<Employee> employees;
+    private Statistics statistics;
+
+    @BeforeAll
+    void seed() {
+        List<Employee> rows = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            Employee employee = new Employee("summary" + i + "@x.com");
+            employee.setUserName("Summary " + i);
+            employee.setPassword("secret");
+            employee.setLocation(i % 2 == 0 ? "Oslo" : "Lima");
+            employee.setDesignation("Engineer");
+            employee.setRole("USER");
+            employee.setSkills(new HashSet<>(List.of("Fortran", "Skill" + i % 7)));
+            employee.setRoles(new HashSet<>(List.of("ROLE_USER")));
+            employee.setTeamMember(i % 3 == 0);
+            rows.add(employee);
+        }
+        employees = employeeRepository.saveAll(rows);
+        skillIndex.load();
+        searchIndex.load();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        statistics.setStatisticsEnabled(false);
+        employeeRepository.deleteAll(employees);
+        skillIndex.load();
+        searchIndex.load();
+    }
+
+    // A page is the summary select and one skills query, plus a count where the page cannot tell the total;
+    // no Employee, password or roles collection is ever loaded
+    @Test
+    void listAndSearchPagesSelectSummariesWithoutLoadingEmployees() {
+        PageRequest page = PageRequest.of(1, 100);
+        PageRequest byEmail = PageRequest.of(0, 100, Sort.by("email"));
+
+        assertPage(() -> employeeService.getAllEmployeesPaginated(page).getContent(), 3);
+        assertPage(() -> employeeService.findEmployees("summary", null, "Oslo", null, byEmail).getContent(), 3);
+        assertPage(() -> employeeService.findEmployees(null, Set.of("fortran"), null, null, page).getContent(), 2);
+        assertPage(() -> employeeService.findEmployeesBySkills(Set.of("Fortran"), true, page).getContent(), 2);
+        assertPage(() -> employeeService.findEmployeesBySkill("Fortran"), 2);
+        assertPage(() -> employeeService.getTeamMembers(), 2);
+        assertPage(() -> employeeService.scrollEmployees("summary", null, "Lima", Sort.by("userName"), null, 100,
+                false).content(), 2);
+        assertPage(() -> employeeService.scrollEmployees(null, Set.of("Fortran"), null, Sort.unsorted(), null, 100,
+                true).content(), 2);
+    }
+
+    private void assertPage(Supplier<List<EmployeeSummary>> query, int statements) {
+        statistics.clear();
+
+        List<EmployeeSummary> summaries = query.get();
+
+        assertThat(summaries).hasSizeGreaterThanOrEqualTo(100);
+        assertThat(summaries).allSatisfy(summary -> assertThat(summary.skills()).contains("Fortran"));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+    }
+}
@@ -0,0 +1,157 @@
+package com.ust.service;
+
+import com.ust.dto.EmployeeSkill;
+import com.ust.repo.EmployeeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SkillIndexTest {
+
+    private static final List<String> SKILLS = List.of("Java", "java ", "Spring", "SQL", "Kotlin", "Go", "React");
+
+    private final EmployeeRepository repository = mock(EmployeeRepository.class);
+    private final SkillIndex index = new SkillIndex(repository);
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void lookupsMatchAScanOfEverySkillSet() {
+        Random random = new Random(21);
+        Map<Long, Set<String>> skills = new HashMap<>();
+        for (long id = 1; id <= 500; id++) {
+            skills.put(id, randomSkills(random));
+        }
+        when(repository.findAllSkillAssignments()).thenReturn(assignments(skills));
+        index.load();
+
+        // Writes after the load go through the incremental path
+        for (long id = 400; id <= 600; id++) {
+            Set<String> before = skills.getOrDefault(id, Set.of());
+            Set<String> after = id % 5 == 0 ? Set.of() : randomSkills(random);
+            index.recordChange(id, before, after);
+            skills.put(id, after);
+        }
+
+        for (int i = 0; i < 200; i++) {
+            Set<String> query = randomSkills(random);
+            assertThat(toList(index.allOf(query))).as("all of %s", query)
+                    .isEqualTo(bruteForce(skills, query, true));
+            assertThat(toList(index.anyOf(query))).as("any of %s", query)
+                    .isEqualTo(bruteForce(skills, query, false));
+        }
+        for (String skill : SKILLS) {
+            assertThat(index.count(skill)).isEqualTo(bruteForce(skills, Set.of(skill), true).size());
+        }
+        assertThat(index.allOf(Set.of())).isEmpty();
+        assertThat(index.anyOf(Set.of("Cobol"))).isEmpty();
+    }
+
+    @Test
+    void changeReachesTheIndexOnlyAfterCommit() {
+        when(repository.findAllSkillAssignments()).thenReturn(List.of());
+        index.load();
+        TransactionSynchronizationManager.initSynchronization();
+
+        index.recordChange(7L, Set.of(), Set.of("Java"));
+
+        assertThat(index.count("java")).isZero();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(index.count("java")).isEqualTo(1);
+    }
+
+    @Test
+    void changeAppliedDuringTheLoadIsNotWipedByIt() throws Exception {
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch applied = new CountDownLatch(1);
+        // The load reads a snapshot from before the commit; the change's callback must not land before the rebuild
+        when(repository.findAllSkillAssignments()).thenAnswer(invocation -> {
+            reading.countDown();
+            applied.await(200, TimeUnit.MILLISECONDS);
+            return List.of();
+        });
+        Thread writer = new Thread(() -> {
+            try {
+                reading.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            index.recordChange(7L, Set.of(), Set.of("Java"));
+            applied.countDown();
+        });
+        writer.start();
+
+        index.load();
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+
+        assertThat(index.count("java")).isEqualTo(1);
+    }
+
+    private static Set<String> randomSkills(Random random) {
+        Set<String> skills = new HashSet<>();
+        int count = random.nextInt(4);
+        for (int i = 0; i < count; i++) {
+            skills.add(SKILLS.get(random.nextInt(SKILLS.size())));
+        }
+        return skills;
+    }
+
+    private static List<EmployeeSkill> assignments(Map<Long, Set<String>> skills) {
+        List<EmployeeSkill> rows = new ArrayList<>();
+        skills.forEach((id, held) -> held.forEach(skill -> rows.add(new EmployeeSkill() {
+            @Override
+            public long getEmployeeId() {
+                return id;
+            }
+
+            @Override
+            public String getSkill() {
+                return skill;
+            }
+        })));
+        return rows;
+    }
+
+    private static List<Long> bruteForce(Map<Long, Set<String>> skills, Set<String> query, boolean matchAll) {
+        Set<String> wanted = lowerCase(query);
+        if (wanted.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = new ArrayList<>();
+        skills.forEach((id, held) -> {
+            Set<String> has = lowerCase(held);
+            if (matchAll ? has.containsAll(wanted) : has.stream().anyMatch(wanted::contains)) {
+                ids.add(id);
+            }
+        });
+        ids.sort(null);
+        return ids;
+    }
+
+    private static Set<String> lowerCase(Set<String> skills) {
+        Set<String> lower = new HashSet<>();
+        skills.forEach(skill -> lower.add(skill.trim().toLowerCase(Locale.ROOT)));
+        return lower;
+    }
+
+    private static List<Long> toList(RoaringBitmap ids) {
+        List<Long> list = new ArrayList<>();
+        ids.forEach((int id) -> list.add((long) id));
+        return list;
+    }
+}
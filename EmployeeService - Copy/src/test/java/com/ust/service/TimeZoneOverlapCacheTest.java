@@ -0,0 +1,173 @@
+package com.ust.service;
+
+import com.ust.client.TimeZoneServiceClient;
+import feign.FeignException;
+import feign.Request;
+import feign.Response;
+import feign.RetryableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TimeZoneOverlapCacheTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 3, 9);
+    private static final Request REQUEST = Request.create(Request.HttpMethod.GET, "/api/timezone/overlap", Map.of(),
+            null, StandardCharsets.UTF_8, null);
+
+    private final TimeZoneServiceClient client = mock(TimeZoneServiceClient.class);
+    private final TimeZoneOverlapCache cache = new TimeZoneOverlapCache(client, Duration.ofMinutes(1), 16, 1,
+            Duration.ofMillis(50));
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void shutdown() {
+        release.countDown();
+        callers.shutdownNow();
+    }
+
+    @Test
+    void identicalConcurrentRequestsShareOneCall() throws Exception {
+        List<ZonedDateTime> overlap = List.of(ZonedDateTime.parse("2026-03-09T14:00Z"));
+        when(client.getOverlappingWorkingHours(anyList(), any(), anyInt())).thenAnswer(invocation -> {
+            release.await();
+            return overlap;
+        });
+
+        // The same team in any order and with repeats is the same request
+        List<Future<List<ZonedDateTime>>> results = new ArrayList<>();
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            List<Long> team = i % 2 == 0 ? List.of(3L, 1L, 2L) : List.of(1L, 2L, 3L, 1L);
+            results.add(callers.submit(() -> {
+                threads.add(Thread.currentThread());
+                return cache.getOverlappingWorkingHours(team, DATE, 30);
+            }));
+        }
+        awaitAllWaiting(threads, 8);
+        release.countDown();
+
+        for (Future<List<ZonedDateTime>> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(overlap);
+        }
+        assertThat(cache.getOverlappingWorkingHours(List.of(2L, 3L, 1L), DATE, 30)).isEqualTo(overlap);
+        verify(client, times(1)).getOverlappingWorkingHours(List.of(1L, 2L, 3L), DATE, 30);
+    }
+
+    @Test
+    void leaderErrorReachesEveryFollower() throws Exception {
+        when(client.getOverlappingWorkingHours(anyList(), any(), anyInt())).thenAnswer(invocation -> {
+            release.await();
+            throw new StackOverflowError();
+        });
+
+        List<Future<List<ZonedDateTime>>> results = new ArrayList<>();
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            results.add(callers.submit(() -> {
+                threads.add(Thread.currentThread());
+                return cache.getOverlappingWorkingHours(List.of(1L, 2L), DATE, 30);
+            }));
+        }
+        awaitAllWaiting(threads, 4);
+        release.countDown();
+
+        for (Future<List<ZonedDateTime>> result : results) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(StackOverflowError.class);
+        }
+        // The failure is not cached and the key is free for the next caller
+        assertThatThrownBy(() -> cache.getOverlappingWorkingHours(List.of(1L, 2L), DATE, 30))
+                .isInstanceOf(StackOverflowError.class);
+        verify(client, times(2)).getOverlappingWorkingHours(List.of(1L, 2L), DATE, 30);
+    }
+
+    @Test
+    void timeoutsAndSaturationAreUnavailable() throws Exception {
+        when(client.getOverlappingWorkingHours(List.of(1L), DATE, 30))
+                .thenThrow(new RetryableException(-1, "Read timed out", Request.HttpMethod.GET,
+                        new SocketTimeoutException(), (Long) null, REQUEST));
+        when(client.getOverlappingWorkingHours(List.of(2L), DATE, 30)).thenThrow(error(503));
+        when(client.getOverlappingWorkingHours(List.of(3L), DATE, 30)).thenThrow(error(404));
+
+        assertThatThrownBy(() -> cache.getOverlappingWorkingHours(List.of(1L), DATE, 30))
+                .isInstanceOf(TimeZoneServiceUnavailableException.class)
+                .hasCauseInstanceOf(RetryableException.class);
+        assertThatThrownBy(() -> cache.getOverlappingWorkingHours(List.of(2L), DATE, 30))
+                .isInstanceOf(TimeZoneServiceUnavailableException.class);
+        when(client.getOverlappingWorkingHours(List.of(6L), DATE, 30)).thenThrow(error(502));
+        when(client.getOverlappingWorkingHours(List.of(7L), DATE, 30)).thenThrow(error(504));
+        assertThatThrownBy(() -> cache.getOverlappingWorkingHours(List.of(6L), DATE, 30))
+                .isInstanceOf(TimeZoneServiceUnavailableException.class)
+                .hasCauseInstanceOf(FeignException.BadGateway.class);
+        assertThatThrownBy(() -> cache.getOverlappingWorkingHours(List.of(7L), DATE, 30))
+                .isInstanceOf(TimeZoneServiceUnavailableException.class);
+        // Anything else the timezone service answers is not an availability problem
+        assertThatThrownBy(() -> cache.getOverlappingWorkingHours(List.of(3L), DATE, 30))
+                .isInstanceOf(FeignException.NotFound.class);
+
+        // The only permit is held by a slow call, so a different request gives up after the permit wait
+        when(client.getOverlappingWorkingHours(List.of(4L), DATE, 30)).thenAnswer(invocation -> {
+            release.await();
+            return List.of();
+        });
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+        Future<List<ZonedDateTime>> slow = callers.submit(() -> {
+            threads.add(Thread.currentThread());
+            return cache.getOverlappingWorkingHours(List.of(4L), DATE, 30);
+        });
+        awaitAllWaiting(threads, 1);
+        assertThatThrownBy(() -> cache.getOverlappingWorkingHours(List.of(5L), DATE, 30))
+                .isInstanceOf(TimeZoneServiceUnavailableException.class)
+                .hasMessage("Too many concurrent timezone service calls");
+        release.countDown();
+        assertThat(slow.get(5, TimeUnit.SECONDS)).isEmpty();
+    }
+
+    // The response the Spring Cloud load balancer builds when it has no instance of the service to call
+    @Test
+    void loadBalancerWithoutInstancesIsUnavailable() {
+        Response noInstance = Response.builder().status(503).reason("")
+                .body("Load balancer does not contain an instance for the service timezone-service",
+                        StandardCharsets.UTF_8)
+                .request(REQUEST).headers(Map.of()).build();
+        when(client.getOverlappingWorkingHours(List.of(1L), DATE, 30)).thenThrow(
+                FeignException.errorStatus("TimeZoneServiceClient#getOverlappingWorkingHours", noInstance));
+
+        assertThatThrownBy(() -> cache.getOverlappingWorkingHours(List.of(1L), DATE, 30))
+                .isInstanceOf(TimeZoneServiceUnavailableException.class)
+                .hasCauseInstanceOf(FeignException.ServiceUnavailable.class);
+    }
+
+    private static FeignException error(int status) {
+        return FeignException.errorStatus("TimeZoneServiceClient#getOverlappingWorkingHours",
+                Response.builder().status(status).reason("").request(REQUEST).headers(Map.of()).build());
+    }
+
+    // Every caller is parked, either in the leader's call or joined on it
+    private static void awaitAllWaiting(List<Thread> threads, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while ((threads.size() < count || threads.stream().anyMatch(thread -> thread.getState() != Thread.State.WAITING))
+                && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(threads).hasSize(count).allMatch(thread -> thread.getState() == Thread.State.WAITING);
+    }
+}
@@ -0,0 +1,44 @@
+package com.ust.benchmark;
+
+import com.ust.model.EmployeeTimeZone;
+import com.ust.repo.EmployeeTimeZoneRepository;
+
+import java.lang.reflect.Proxy;
+import java.util.*;
+
+/**
+ * In-memory stand-in for the JPA repository; only the lookups the benchmarked paths use are supported.
+ */
+final class StubEmployeeTimeZoneRepository {
+
+    private StubEmployeeTimeZoneRepository() {
+    }
+
+    static EmployeeTimeZoneRepository of(List<EmployeeTimeZone> rows) {
+        Map<Long, EmployeeTimeZone> byId = new HashMap<>();
+        for (EmployeeTimeZone row : rows) {
+            byId.put(row.getEmployeeId(), row);
+        }
+        return (EmployeeTimeZoneRepository) Proxy.newProxyInstance(
+                EmployeeTimeZoneRepository.class.getClassLoader(),
+                new Class<?>[]{EmployeeTimeZoneRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findAllById" -> {
+                        List<EmployeeTimeZone> found = new ArrayList<>();
+                        for (Object id : (Iterable<?>) args[0]) {
+                            EmployeeTimeZone row = byId.get(id);
+                            if (row != null) {
+                                found.add(row);
+                            }
+                        }
+                        yield found;
+                    }
+                    case "findById" -> Optional.ofNullable(byId.get(args[0]));
+                    case "findAll" -> new ArrayList<>(rows);
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "StubEmployeeTimeZoneRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,115 @@
+package com.ust.benchmark;
+
+import com.ust.dto.MeetingSuggestion;
+import com.ust.model.EmployeeTimeZone;
+import com.ust.service.TimeZoneService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scheduling hot paths of {@link TimeZoneService} against synthetic datasets of 10 to 100k employees.
+ * Team-sized calls use the first {@code teamSize} employees of the dataset; the org-wide calls use all of them.
+ *
+ * <pre>
+ * mvn -f "TimeZoneProjectMaven - Copy" install -DskipTests
+ * mvn -f TimeZoneBenchmarks package
+ * java -jar TimeZoneBenchmarks/target/benchmarks.jar -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TimeZoneServiceBenchmark {
+
+    @Param({"10", "1000", "10000", "100000"})
+    private int employees;
+
+    @Param({"10", "500"})
+    private int teamSize;
+
+    private TimeZoneService service;
+    private List<Long> allIds;
+    private List<Long> teamIds;
+    private LocalDate date;
+    private ZonedDateTime meetingTime;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<EmployeeTimeZone> rows = TimeZoneServiceFixture.employees(employees);
+        service = TimeZoneServiceFixture.service(rows);
+        allIds = rows.stream().map(EmployeeTimeZone::getEmployeeId).toList();
+        teamIds = allIds.subList(0, Math.min(teamSize, allIds.size()));
+        date = LocalDate.of(2025, 3, 10);
+        meetingTime = ZonedDateTime.parse("2025-03-10T14:00:00Z");
+    }
+
+    @Benchmark
+    public List<ZonedDateTime> overlapTeam() {
+        return service.calculateOverlappingWorkingHours(teamIds, date);
+    }
+
+    @Benchmark
+    public List<ZonedDateTime> overlapOrgWide() {
+        return service.calculateOverlappingWorkingHours(allIds, date);
+    }
+
+    @Benchmark
+    public ZonedDateTime suggestBestMeetingTime() {
+        // Spread-out teams rarely share hours, so a missing suggestion is an expected outcome
+        try {
+            return service.suggestBestMeetingTime(teamIds, date, 5);
+        } catch (IllegalStateException e) {
+            return null;
+        }
+    }
+
+    // A quarter of days fans out over the common pool, so every day's mask lookup races the others
+    @Benchmark
+    public List<MeetingSuggestion> suggestMeetingTimesQuarter() {
+        return service.suggestMeetingTimes(teamIds, date, 90, 10);
+    }
+
+    // The same, with several requests sharing the mask cache at once
+    @Benchmark
+    @Threads(4)
+    public List<MeetingSuggestion> suggestMeetingTimesQuarterConcurrent() {
+        return service.suggestMeetingTimes(teamIds, date, 90, 10);
+    }
+
+    @Benchmark
+    public boolean validateMeetingTimeTeam() {
+        return service.validateMeetingTime(teamIds, meetingTime);
+    }
+
+    @Benchmark
+    public boolean validateMeetingTimeOrgWide() {
+        return service.validateMeetingTime(allIds, meetingTime);
+    }
+
+    @Benchmark
+    public Map<String, Duration> teamFreeHoursOverlap() {
+        return service.getTeamFreeHoursOverlap(teamIds);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(TimeZoneServiceBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
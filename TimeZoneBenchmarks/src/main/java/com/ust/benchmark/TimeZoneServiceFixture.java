@@ -0,0 +1,82 @@
+package com.ust.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ust.model.EmployeeTimeZone;
+import com.ust.repo.BusyBlockRepository;
+import com.ust.repo.EmployeeTimeZoneRepository;
+import com.ust.repo.HolidayRepository;
+import com.ust.service.*;
+import jakarta.persistence.EntityManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * Builds a {@link TimeZoneService} wired by hand against a stubbed repository, with synthetic employees spread
+ * round-robin over every IANA zone.
+ */
+final class TimeZoneServiceFixture {
+    private static final List<String> ZONES = ZoneId.getAvailableZoneIds().stream().sorted().toList();
+
+    private TimeZoneServiceFixture() {
+    }
+
+    static List<EmployeeTimeZone> employees(int count) {
+        List<EmployeeTimeZone> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            // Shift starts between 07:00 and 10:30 so overlaps are not all identical
+            LocalTime start = LocalTime.of(7, 0).plusMinutes(30L * (i % 8));
+            rows.add(new EmployeeTimeZone((long) i, ZONES.get(i % ZONES.size()), start, start.plusHours(8)));
+        }
+        return rows;
+    }
+
+    static TimeZoneService service(List<EmployeeTimeZone> rows) {
+        EmployeeTimeZoneRepository repository = StubEmployeeTimeZoneRepository.of(rows);
+        ZoneCache zoneCache = new ZoneCache();
+        HolidayCalendarIndex holidays = new HolidayCalendarIndex();
+        EmployeeTimeZoneCache cache = new EmployeeTimeZoneCache(repository, Math.max(rows.size(), 1), Duration.ofHours(1));
+        AvailabilityEngine availabilityEngine = new AvailabilityEngine(zoneCache, holidays, 256, 366);
+        ObjectMapper objectMapper = new ObjectMapper();
+        // Writes, holiday uploads and the streaming export are not benchmarked, so their persistence fails loudly
+        EntityManager entityManager = unsupported(EntityManager.class);
+        EmployeeTimeZoneImporter importer = new EmployeeTimeZoneImporter(entityManager,
+                unsupported(PlatformTransactionManager.class), objectMapper, zoneCache, 500);
+        return new TimeZoneService(repository, cache, availabilityEngine, zoneCache, importer,
+                new AvailabilityHeatmapIndex(repository, zoneCache), new OnShiftIndex(repository, zoneCache, holidays),
+                new EmployeeTimeZoneChangeFeed(16, Duration.ofMinutes(1)), new BusyBlockService(noBusyBlocks()),
+                new HolidayService(unsupported(HolidayRepository.class), holidays, zoneCache), new TeamResultCache(),
+                new RecurringMeetingPlanner(cache, zoneCache, holidays), objectMapper, entityManager);
+    }
+
+    // Nobody is busy, so the benchmarks keep measuring the bare working-hours overlap
+    private static BusyBlockRepository noBusyBlocks() {
+        return proxy(BusyBlockRepository.class, "NoBusyBlocks", (method, args) -> switch (method.getName()) {
+            case "findOverlapping" -> List.of();
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    private static <T> T unsupported(Class<T> type) {
+        return proxy(type, "Unsupported" + type.getSimpleName(), (method, args) -> {
+            throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+        });
+    }
+
+    private static <T> T proxy(Class<T> type, String name, BiFunction<Method, Object[], Object> handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> name;
+                    default -> handler.apply(method, args);
+                }));
+    }
+}
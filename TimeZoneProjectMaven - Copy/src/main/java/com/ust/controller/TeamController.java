@@ -0,0 +1,107 @@
+package com.ust.controller;
+
+import com.ust.dto.MeetingSuggestion;
+import com.ust.model.Team;
+import com.ust.service.TeamService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/timezone/teams")
+@RequiredArgsConstructor
+public class TeamController {
+    private final TeamService teamService;
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'ORGANIZER')")
+    @PostMapping
+    public ResponseEntity<Team> createTeam(@RequestBody Team team) {
+        return ResponseEntity.ok(teamService.createTeam(team));
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'ORGANIZER')")
+    @GetMapping
+    public ResponseEntity<List<Team>> getAllTeams() {
+        return ResponseEntity.ok(teamService.getAllTeams());
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'ORGANIZER')")
+    @GetMapping("/{teamId}")
+    public ResponseEntity<Team> getTeam(@PathVariable Long teamId) {
+        return teamService.getTeam(teamId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'ORGANIZER')")
+    @PutMapping("/{teamId}")
+    public ResponseEntity<Team> updateTeam(@PathVariable Long teamId, @RequestBody Team team) {
+        return teamService.updateTeam(teamId, team)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'ORGANIZER')")
+    @DeleteMapping("/{teamId}")
+    public ResponseEntity<Void> deleteTeam(@PathVariable Long teamId) {
+        return teamService.deleteTeam(teamId)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'ORGANIZER')")
+    @GetMapping("/{teamId}/overlap")
+    public ResponseEntity<List<ZonedDateTime>> getOverlappingWorkingHours(
+            @PathVariable Long teamId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(defaultValue = "30") int stepMinutes) {
+        return teamService.getOverlappingWorkingHours(teamId, date, stepMinutes)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'ORGANIZER')")
+    @GetMapping("/{teamId}/suggest-meeting")
+    public ResponseEntity<ZonedDateTime> suggestBestMeetingTime(
+            @PathVariable Long teamId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(defaultValue = "5") int daysToCheck) {
+        return teamService.suggestBestMeetingTime(teamId, startDate, daysToCheck)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'ORGANIZER')")
+    @GetMapping("/{teamId}/suggest-meetings")
+    public ResponseEntity<List<MeetingSuggestion>> suggestMeetingTimes(
+            @PathVariable Long teamId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(defaultValue = "5") int daysToCheck,
+            @RequestParam(defaultValue = "5") int limit) {
+        return teamService.suggestMeetingTimes(teamId, startDate, daysToCheck, limit)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'ORGANIZER')")
+    @GetMapping("/{teamId}/free-hours-overlap")
+    public ResponseEntity<Map<String, Duration>> getTeamFreeHoursOverlap(@PathVariable Long teamId) {
+        return teamService.getTeamFreeHoursOverlap(teamId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Out-of-range or malformed request values
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleIllegalArgument(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+}
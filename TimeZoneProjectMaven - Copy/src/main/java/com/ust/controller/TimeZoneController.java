@@ -1,14 +1,45 @@
 package com.ust.controller;
 
+import com.ust.dto.AvailabilityHeatmap;
+import com.ust.dto.CompactSlots;
+import com.ust.dto.EmployeeTimeZoneCacheStats;
+import com.ust.dto.EmployeeTimeZonePage;
+import com.ust.dto.FreeHoursOverlapMatrix;
+import com.ust.dto.FreeHoursOverlapPair;
+import com.ust.dto.HolidayCalendar;
+import com.ust.dto.HolidayUploadResult;
+import com.ust.dto.ImportResult;
+import com.ust.dto.MeetingProposal;
+import com.ust.dto.MeetingSuggestion;
+import com.ust.dto.OnShift;
+import com.ust.dto.QuorumResult;
+import com.ust.dto.RecurringMeetingRequest;
+import com.ust.dto.RecurringMeetingSuggestion;
+import com.ust.dto.RecurringMeetingSuggestionRequest;
+import com.ust.dto.RecurringMeetingValidation;
+import com.ust.dto.SlotFormat;
+import com.ust.dto.SlotPage;
+import com.ust.dto.ZoneCacheStats;
+import com.ust.model.BusyBlock;
 import com.ust.model.EmployeeTimeZone;
+import com.ust.service.FreeHoursSweep;
 import com.ust.service.TimeZoneService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
 import java.util.List;
@@ -19,6 +50,7 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class TimeZoneController {
     private final TimeZoneService timeZoneService;
+    private final ObjectMapper objectMapper;
 
     @PreAuthorize("hasRole('ADMIN')")
     @PostMapping
@@ -26,6 +58,51 @@ public class TimeZoneController {
         return ResponseEntity.ok(timeZoneService.saveEmployeeTimeZone(employeeTimeZone));
     }
 
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+    public ResponseEntity<ImportResult> importEmployeeTimeZones(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body) throws IOException {
+        boolean csv = contentType.isCompatibleWith(MediaType.valueOf("text/csv"));
+        Reader reader = new InputStreamReader(body, StandardCharsets.UTF_8);
+        return ResponseEntity.ok(timeZoneService.importEmployeeTimeZones(reader, csv));
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'ORGANIZER')")
+    @PostMapping("/busy-blocks")
+    public ResponseEntity<List<BusyBlock>> upsertBusyBlocks(@RequestBody List<BusyBlock> busyBlocks) {
+        return ResponseEntity.ok(timeZoneService.upsertBusyBlocks(busyBlocks));
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'ORGANIZER', 'USER')")
+    @GetMapping("/busy-blocks")
+    public ResponseEntity<List<BusyBlock>> getBusyBlocks(
+            @RequestParam Long employeeId,
+            @RequestParam Instant from,
+            @RequestParam Instant to) {
+        return ResponseEntity.ok(timeZoneService.getBusyBlocks(employeeId, from, to));
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'ORGANIZER')")
+    @DeleteMapping("/busy-blocks/{id}")
+    public ResponseEntity<Void> deleteBusyBlock(@PathVariable Long id) {
+        return timeZoneService.deleteBusyBlock(id)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/holidays")
+    public ResponseEntity<HolidayUploadResult> uploadHolidays(@RequestBody List<HolidayCalendar> calendars) {
+        return ResponseEntity.ok(timeZoneService.uploadHolidays(calendars));
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'ORGANIZER', 'USER')")
+    @GetMapping("/holidays")
+    public ResponseEntity<HolidayCalendar> getHolidays(@RequestParam String calendar, @RequestParam int year) {
+        return ResponseEntity.ok(timeZoneService.getHolidays(calendar, year));
+    }
+
     @PreAuthorize("hasAnyRole('ADMIN', 'ORGANIZER', 'USER')")
     @GetMapping("/{employeeId}")
     public ResponseEntity<EmployeeTimeZone> getEmployeeTimeZone(@PathVariable Long employeeId) {
@@ -40,12 +117,88 @@ public class TimeZoneController {
         return ResponseEntity.ok(timeZoneService.getAllEmployeeTimeZones());
     }
 
+    @PreAuthorize("hasAnyRole('ADMIN', 'ORGANIZER')")
+    @GetMapping(value = "/all", params = "size")
+    public ResponseEntity<EmployeeTimeZonePage> getEmployeeTimeZonePage(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam int size) {
+        return ResponseEntity.ok(timeZoneService.getEmployeeTimeZonePage(afterId, size));
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'ORGANIZER')")
+    @GetMapping(value = "/all", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportEmployeeTimeZones() {
+        StreamingResponseBody body = timeZoneService::exportEmployeeTimeZones;
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    // Resumes after the Last-Event-ID a reconnecting EventSource sends, or after the given event id
+    @PreAuthorize("hasAnyRole('ADMIN', 'ORGANIZER')")
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            @RequestParam(required = false) String after) {
+        return timeZoneService.subscribeToChanges(lastEventId != null ? lastEventId : after);
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'ORGANIZER')")
+    @GetMapping("/heatmap")
+    public ResponseEntity<AvailabilityHeatmap> getAvailabilityHeatmap(
+            @RequestParam(defaultValue = "false") boolean byTimeZone) {
+        return ResponseEntity.ok(timeZoneService.getAvailabilityHeatmap(byTimeZone));
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'ORGANIZER')")
+    @GetMapping("/on-shift")
+    public ResponseEntity<OnShift> getOnShift(@RequestParam(required = false) Instant at) {
+        return ResponseEntity.ok(timeZoneService.getOnShift(at));
+    }
+
     @PreAuthorize("hasAnyRole('ADMIN', 'ORGANIZER')")
     @GetMapping("/overlap")
     public ResponseEntity<List<ZonedDateTime>> getOverlappingWorkingHours(
             @RequestParam List<Long> employeeIds,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
-        return ResponseEntity.ok(timeZoneService.calculateOverlappingWorkingHours(employeeIds, date));
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(defaultValue = "30") int stepMinutes) {
+        return ResponseEntity.ok(timeZoneService.calculateOverlappingWorkingHours(employeeIds, date, stepMinutes));
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'ORGANIZER')")
+    @GetMapping(value = "/overlap", params = "format")
+    public ResponseEntity<CompactSlots> getOverlappingSlots(
+            @RequestParam List<Long> employeeIds,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam String format,
+            @RequestParam(defaultValue = "30") int stepMinutes) {
+        return ResponseEntity.ok(timeZoneService.calculateOverlappingSlots(
+                employeeIds, date, stepMinutes, SlotFormat.fromParameter(format)));
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'ORGANIZER')")
+    @GetMapping(value = "/overlap", produces = {CompactSlots.INTERVALS_MEDIA_TYPE, CompactSlots.EPOCHS_MEDIA_TYPE})
+    public ResponseEntity<CompactSlots> getOverlappingSlotsByAccept(
+            @RequestParam List<Long> employeeIds,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(defaultValue = "30") int stepMinutes,
+            @RequestHeader(HttpHeaders.ACCEPT) String accept) {
+        SlotFormat format = accept.contains(CompactSlots.EPOCHS_MEDIA_TYPE) ? SlotFormat.EPOCHS : SlotFormat.INTERVALS;
+        MediaType contentType = MediaType.valueOf(format == SlotFormat.EPOCHS
+                ? CompactSlots.EPOCHS_MEDIA_TYPE : CompactSlots.INTERVALS_MEDIA_TYPE);
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .body(timeZoneService.calculateOverlappingSlots(employeeIds, date, stepMinutes, format));
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'ORGANIZER')")
+    @GetMapping("/quorum-slots")
+    public ResponseEntity<QuorumResult> findQuorumSlots(
+            @RequestParam List<Long> employeeIds,
+            @RequestParam(required = false) List<Long> requiredIds,
+            // Attendees needed on top of every required one; with no required ids this is K of N
+            @RequestParam int minOptional,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(defaultValue = "5") int limit) {
+        return ResponseEntity.ok(timeZoneService.findQuorumSlots(employeeIds, requiredIds, minOptional, date, limit));
     }
 
     @PreAuthorize("hasAnyRole('ADMIN', 'ORGANIZER')")
@@ -57,6 +210,28 @@ public class TimeZoneController {
         return ResponseEntity.ok(timeZoneService.suggestBestMeetingTime(employeeIds, startDate, daysToCheck));
     }
 
+    @PreAuthorize("hasAnyRole('ADMIN', 'ORGANIZER')")
+    @GetMapping("/suggest-meetings")
+    public ResponseEntity<List<MeetingSuggestion>> suggestMeetingTimes(
+            @RequestParam List<Long> employeeIds,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(defaultValue = "5") int daysToCheck,
+            @RequestParam(defaultValue = "5") int limit) {
+        return ResponseEntity.ok(timeZoneService.suggestMeetingTimes(employeeIds, startDate, daysToCheck, limit));
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'ORGANIZER')")
+    @GetMapping("/slot-search")
+    public ResponseEntity<SlotPage> searchSlots(
+            @RequestParam List<Long> employeeIds,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(defaultValue = "180") int horizonDays,
+            @RequestParam(defaultValue = "0") int minScore,
+            @RequestParam(defaultValue = "20") int pageSize,
+            @RequestParam(required = false) String cursor) {
+        return ResponseEntity.ok(timeZoneService.searchSlots(employeeIds, startDate, horizonDays, minScore, pageSize, cursor));
+    }
+
     @PreAuthorize("hasAnyRole('ADMIN', 'ORGANIZER', 'USER')")
     @GetMapping("/{employeeId}/free-hours")
     public ResponseEntity<Duration> getEmployeeFreeHours(@PathVariable Long employeeId) {
@@ -71,6 +246,32 @@ public class TimeZoneController {
         return ResponseEntity.ok(timeZoneService.getTeamFreeHoursOverlap(employeeIds));
     }
 
+    @PreAuthorize("hasAnyRole('ADMIN', 'ORGANIZER')")
+    @GetMapping("/team-free-hours-overlap/matrix")
+    public ResponseEntity<FreeHoursOverlapMatrix> getTeamFreeHoursOverlapMatrix(@RequestParam List<Long> employeeIds) {
+        return ResponseEntity.ok(timeZoneService.getTeamFreeHoursOverlapMatrix(employeeIds));
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'ORGANIZER')")
+    @GetMapping(value = "/team-free-hours-overlap/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamTeamFreeHoursOverlap(
+            @RequestParam List<Long> employeeIds,
+            @RequestParam(defaultValue = "PT0S") Duration minOverlap) {
+        FreeHoursSweep sweep = timeZoneService.buildFreeHoursSweep(employeeIds);
+        long[] ids = sweep.employeeIds();
+        // Lines go through the application's ObjectMapper so they serialize like every other endpoint
+        ObjectWriter lines = objectMapper.writerFor(FreeHoursOverlapPair.class);
+        StreamingResponseBody body = outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            sweep.forEachOverlap(minOverlap.getSeconds(), (i, j, seconds) -> {
+                writer.write(lines.writeValueAsString(new FreeHoursOverlapPair(ids[i], ids[j], seconds)));
+                writer.write('\n');
+            });
+            writer.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     @PreAuthorize("hasRole('ADMIN')")
     @PutMapping("/{employeeId}")
     public ResponseEntity<EmployeeTimeZone> updateEmployeeTimeZone(
@@ -103,4 +304,42 @@ public class TimeZoneController {
         boolean isValid = timeZoneService.validateMeetingTime(employeeIds, proposedMeetingTime);
         return ResponseEntity.ok(isValid);
     }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'ORGANIZER')")
+    @PostMapping("/validate-meeting-times")
+    public ResponseEntity<List<Boolean>> validateMeetingTimes(@RequestBody List<MeetingProposal> proposals) {
+        return ResponseEntity.ok(timeZoneService.validateMeetingTimes(proposals));
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'ORGANIZER')")
+    @PostMapping("/recurring-meetings/validate")
+    public ResponseEntity<RecurringMeetingValidation> validateRecurringMeeting(
+            @RequestBody RecurringMeetingRequest request) {
+        return ResponseEntity.ok(timeZoneService.validateRecurringMeeting(request));
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'ORGANIZER')")
+    @PostMapping("/recurring-meetings/suggest")
+    public ResponseEntity<List<RecurringMeetingSuggestion>> suggestRecurringMeetingTimes(
+            @RequestBody RecurringMeetingSuggestionRequest request) {
+        return ResponseEntity.ok(timeZoneService.suggestRecurringMeetingTimes(request));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/zone-cache/stats")
+    public ResponseEntity<ZoneCacheStats> getZoneCacheStats() {
+        return ResponseEntity.ok(timeZoneService.getZoneCacheStats());
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/cache/stats")
+    public ResponseEntity<EmployeeTimeZoneCacheStats> getCacheStats() {
+        return ResponseEntity.ok(timeZoneService.getCacheStats());
+    }
+
+    // Out-of-range or malformed request values
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleIllegalArgument(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.ust.dto;
+
+import java.time.ZonedDateTime;
+
+public record AttendeeConflict(Long employeeId, ConflictReason reason, boolean dstShift, ZonedDateTime localStart,
+                               String detail) {
+
+    public enum ConflictReason {
+        HOLIDAY,
+        STARTS_BEFORE_WORKING_HOURS,
+        STARTS_AFTER_WORKING_HOURS,
+        ENDS_AFTER_WORKING_HOURS
+    }
+}
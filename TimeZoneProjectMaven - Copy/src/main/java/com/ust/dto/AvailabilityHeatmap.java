@@ -0,0 +1,6 @@
+package com.ust.dto;
+
+import java.util.Map;
+
+public record AvailabilityHeatmap(int[] onlineByHourOfWeek, Map<String, int[]> byTimeZone) {
+}
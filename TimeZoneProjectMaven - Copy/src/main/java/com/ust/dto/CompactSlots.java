@@ -0,0 +1,9 @@
+package com.ust.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CompactSlots(String zone, int stepSeconds, long[][] intervals, long[] epochSeconds) {
+    public static final String INTERVALS_MEDIA_TYPE = "application/vnd.ust.slot-intervals+json";
+    public static final String EPOCHS_MEDIA_TYPE = "application/vnd.ust.slot-epochs+json";
+}
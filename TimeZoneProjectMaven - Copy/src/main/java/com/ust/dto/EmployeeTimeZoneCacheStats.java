@@ -0,0 +1,4 @@
+package com.ust.dto;
+
+public record EmployeeTimeZoneCacheStats(int size, long hits, long misses, long evictions, long expirations) {
+}
@@ -0,0 +1,16 @@
+package com.ust.dto;
+
+import com.ust.model.EmployeeTimeZone;
+
+import java.time.Instant;
+
+// employeeTimeZone carries the full row after the change and is null for deletes
+public record EmployeeTimeZoneChange(long sequence, ChangeType type, Long employeeId,
+                                     EmployeeTimeZone employeeTimeZone, Instant changedAt) {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
@@ -0,0 +1,8 @@
+package com.ust.dto;
+
+import com.ust.model.EmployeeTimeZone;
+
+import java.util.List;
+
+public record EmployeeTimeZonePage(List<EmployeeTimeZone> items, Long nextAfterId) {
+}
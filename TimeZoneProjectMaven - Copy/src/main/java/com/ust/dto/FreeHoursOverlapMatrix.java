@@ -0,0 +1,4 @@
+package com.ust.dto;
+
+public record FreeHoursOverlapMatrix(long[] employeeIds, int[][] overlapSeconds) {
+}
@@ -0,0 +1,5 @@
+package com.ust.dto;
+
+// One line of the streamed free hours overlap
+public record FreeHoursOverlapPair(long employeeId1, long employeeId2, long overlapSeconds) {
+}
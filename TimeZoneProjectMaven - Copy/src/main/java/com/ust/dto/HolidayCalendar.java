@@ -0,0 +1,7 @@
+package com.ust.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record HolidayCalendar(String calendar, List<LocalDate> dates) {
+}
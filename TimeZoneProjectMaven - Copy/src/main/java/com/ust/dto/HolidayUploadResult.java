@@ -0,0 +1,4 @@
+package com.ust.dto;
+
+public record HolidayUploadResult(long added, long duplicates) {
+}
@@ -0,0 +1,4 @@
+package com.ust.dto;
+
+public record ImportError(long line, String message) {
+}
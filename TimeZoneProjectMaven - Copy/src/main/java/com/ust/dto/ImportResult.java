@@ -0,0 +1,6 @@
+package com.ust.dto;
+
+import java.util.List;
+
+public record ImportResult(long imported, long failed, List<ImportError> errors) {
+}
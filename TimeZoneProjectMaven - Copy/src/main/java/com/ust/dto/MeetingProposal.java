@@ -0,0 +1,8 @@
+package com.ust.dto;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+public record MeetingProposal(List<Long> employeeIds, ZonedDateTime startTime, Duration duration) {
+}
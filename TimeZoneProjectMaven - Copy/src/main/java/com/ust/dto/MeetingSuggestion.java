@@ -0,0 +1,6 @@
+package com.ust.dto;
+
+import java.time.ZonedDateTime;
+
+public record MeetingSuggestion(ZonedDateTime startTime, int score) {
+}
@@ -0,0 +1,7 @@
+package com.ust.dto;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+public record OccurrenceFailure(int index, ZonedDateTime startTime, List<AttendeeConflict> conflicts) {
+}
@@ -0,0 +1,6 @@
+package com.ust.dto;
+
+import java.time.Instant;
+
+public record OnShift(Instant at, int onShift, long[] employeeIds) {
+}
@@ -0,0 +1,6 @@
+package com.ust.dto;
+
+import java.util.List;
+
+public record QuorumResult(int totalAttendees, int requiredAttendees, List<QuorumSlot> slots, List<QuorumWindow> bestWindows) {
+}
@@ -0,0 +1,6 @@
+package com.ust.dto;
+
+import java.time.ZonedDateTime;
+
+public record QuorumSlot(ZonedDateTime startTime, int attendees) {
+}
@@ -0,0 +1,6 @@
+package com.ust.dto;
+
+import java.time.ZonedDateTime;
+
+public record QuorumWindow(ZonedDateTime start, ZonedDateTime end, int minAttendees, int maxAttendees) {
+}
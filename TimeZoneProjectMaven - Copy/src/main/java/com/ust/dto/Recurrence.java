@@ -0,0 +1,14 @@
+package com.ust.dto;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+
+// RRULE-like pattern: FREQ, INTERVAL, BYDAY (weekly only) and COUNT and/or UNTIL (inclusive)
+public record Recurrence(Frequency frequency, Integer interval, List<DayOfWeek> byDay, Integer count, LocalDate until) {
+
+    public enum Frequency {
+        DAILY,
+        WEEKLY
+    }
+}
@@ -0,0 +1,10 @@
+package com.ust.dto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Occurrences keep the local start time in timeZone, the way calendar clients expand a rule with a TZID
+public record RecurringMeetingRequest(List<Long> employeeIds, LocalDateTime startTime, String timeZone,
+                                      Duration duration, Recurrence recurrence) {
+}
@@ -0,0 +1,8 @@
+package com.ust.dto;
+
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+
+public record RecurringMeetingSuggestion(LocalTime localStartTime, ZonedDateTime firstOccurrence,
+                                         int validOccurrences, int occurrences) {
+}
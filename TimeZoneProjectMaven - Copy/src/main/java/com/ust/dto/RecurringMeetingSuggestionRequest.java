@@ -0,0 +1,9 @@
+package com.ust.dto;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+public record RecurringMeetingSuggestionRequest(List<Long> employeeIds, LocalDate startDate, String timeZone,
+                                                Duration duration, Recurrence recurrence, Integer limit) {
+}
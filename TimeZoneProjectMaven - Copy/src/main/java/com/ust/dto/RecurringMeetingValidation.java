@@ -0,0 +1,6 @@
+package com.ust.dto;
+
+import java.util.List;
+
+public record RecurringMeetingValidation(int occurrences, int validOccurrences, List<OccurrenceFailure> failures) {
+}
@@ -0,0 +1,14 @@
+package com.ust.dto;
+
+import java.util.Locale;
+
+public enum SlotFormat {
+    // Merged [startEpochSec, endEpochSec, stepSec] runs; slots are start, start + step, ... before end
+    INTERVALS,
+    // Every slot start as epoch seconds
+    EPOCHS;
+
+    public static SlotFormat fromParameter(String value) {
+        return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+}
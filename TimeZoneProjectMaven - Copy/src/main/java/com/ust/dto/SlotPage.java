@@ -0,0 +1,6 @@
+package com.ust.dto;
+
+import java.util.List;
+
+public record SlotPage(List<MeetingSuggestion> slots, String nextCursor) {
+}
@@ -0,0 +1,12 @@
+package com.ust.dto;
+
+public record ZoneCacheStats(
+        int zones,
+        long hits,
+        long misses,
+        double hitRate,
+        long horizonFallbacks,
+        long transitions,
+        long estimatedBytes
+) {
+}
@@ -0,0 +1,31 @@
+package com.ust.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Entity
+// The unique constraint's index also serves the per-employee range lookups
+@Table(name = "busy_block",
+        uniqueConstraints = @UniqueConstraint(name = "uk_busy_block_employee_start",
+                columnNames = {"employee_id", "start_time"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BusyBlock {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    @Column(name = "start_time", nullable = false)
+    private Instant startTime;
+
+    @Column(name = "end_time", nullable = false)
+    private Instant endTime;
+}
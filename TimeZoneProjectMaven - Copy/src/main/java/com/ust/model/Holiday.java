@@ -0,0 +1,26 @@
+package com.ust.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "holiday",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"calendar_name", "holiday_date"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Holiday {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "calendar_name", nullable = false)
+    private String calendar;
+
+    @Column(name = "holiday_date", nullable = false)
+    private LocalDate date;
+}
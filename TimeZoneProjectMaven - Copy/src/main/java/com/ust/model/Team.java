@@ -0,0 +1,29 @@
+package com.ust.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Team {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private String name;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "team_member", joinColumns = @JoinColumn(name = "team_id"),
+            indexes = @Index(name = "idx_team_member_employee", columnList = "employee_id"))
+    @OrderColumn(name = "position")
+    @Column(name = "employee_id", nullable = false)
+    private List<Long> memberIds = new ArrayList<>();
+}
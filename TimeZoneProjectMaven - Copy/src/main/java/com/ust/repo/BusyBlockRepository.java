@@ -0,0 +1,26 @@
+package com.ust.repo;
+
+import com.ust.model.BusyBlock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BusyBlockRepository extends JpaRepository<BusyBlock, Long> {
+
+    // Blocks are at most a day long, so bounding start on both sides keeps this a range scan on (employee_id, start_time)
+    @Query("SELECT b FROM BusyBlock b WHERE b.employeeId IN :employeeIds " +
+            "AND b.startTime >= :earliestStart AND b.startTime < :to AND b.endTime > :from " +
+            "ORDER BY b.employeeId, b.startTime")
+    List<BusyBlock> findOverlapping(@Param("employeeIds") Collection<Long> employeeIds,
+                                    @Param("earliestStart") Instant earliestStart,
+                                    @Param("from") Instant from,
+                                    @Param("to") Instant to);
+
+    List<BusyBlock> findByEmployeeIdAndStartTimeBetween(Long employeeId, Instant from, Instant to);
+}
@@ -1,9 +1,25 @@
 package com.ust.repo;
 
 import com.ust.model.EmployeeTimeZone;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
 @Repository
 public interface EmployeeTimeZoneRepository extends JpaRepository<EmployeeTimeZone, Long> {
-}
\ No newline at end of file
+
+    List<EmployeeTimeZone> findByEmployeeIdGreaterThanOrderByEmployeeIdAsc(Long afterId, Limit limit);
+
+    @Query("SELECT e FROM EmployeeTimeZone e ORDER BY e.employeeId")
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    Stream<EmployeeTimeZone> streamAll();
+}
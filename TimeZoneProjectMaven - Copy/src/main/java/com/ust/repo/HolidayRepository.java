@@ -0,0 +1,15 @@
+package com.ust.repo;
+
+import com.ust.model.Holiday;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface HolidayRepository extends JpaRepository<Holiday, Long> {
+
+    List<Holiday> findByCalendarAndDateIn(String calendar, Collection<LocalDate> dates);
+}
@@ -0,0 +1,179 @@
+package com.ust.service;
+
+import com.ust.model.EmployeeTimeZone;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.*;
+import java.util.*;
+import java.util.function.LongConsumer;
+
+@Component
+public class AvailabilityEngine {
+    public static final int MINUTES_PER_DAY = 24 * 60;
+    // A mask covers the UTC day before, of and after the requested date, which fits every zone's local day
+    public static final int FRAME_MINUTES = 3 * MINUTES_PER_DAY;
+    public static final int FRAME_WORDS = (FRAME_MINUTES + 63) >>> 6;
+
+    private final ZoneCache zoneCache;
+    private final HolidayCalendarIndex holidays;
+    private final int maxDaysPerSchedule;
+    // Masks depend only on the zone and working hours, so employees sharing a schedule share them
+    private final ConcurrentLruCache<Schedule, CompiledAvailability> compiled;
+
+    public AvailabilityEngine(ZoneCache zoneCache, HolidayCalendarIndex holidays,
+                              @Value("${timezone.availability.max-schedules:256}") int maxSchedules,
+                              @Value("${timezone.availability.max-days:366}") int maxDaysPerSchedule) {
+        this.zoneCache = zoneCache;
+        this.holidays = holidays;
+        this.maxDaysPerSchedule = maxDaysPerSchedule;
+        // Lookups come from the parallel per-day suggest stream too, so neither level takes a global lock
+        this.compiled = new ConcurrentLruCache<>(maxSchedules);
+    }
+
+    public static long frameOrigin(LocalDate date) {
+        return (date.toEpochDay() - 1) * MINUTES_PER_DAY;
+    }
+
+    public DayMask dayMask(EmployeeTimeZone etz, LocalDate date) {
+        Schedule schedule = new Schedule(etz.getTimeZone(), etz.getWorkingHoursStart(), etz.getWorkingHoursEnd());
+        CompiledAvailability availability = compiled.computeIfAbsent(schedule,
+                key -> new CompiledAvailability(key, zoneCache.zone(key.timeZone()), maxDaysPerSchedule));
+        return availability.dayMask(date);
+    }
+
+    // Working minutes of the employee with holidays and busy blocks taken out, in an array the caller owns
+    public long[] availableBits(EmployeeTimeZone etz, LocalDate date, BusyCalendar busy) {
+        DayMask mask = dayMask(etz, date);
+        if (!isWorkingDay(mask, date)) {
+            return new long[FRAME_WORDS];
+        }
+        long[] available = mask.bits();
+        long[] busyBits = busy.mask(etz.getEmployeeId(), frameOrigin(date));
+        if (busyBits != null) {
+            for (int w = 0; w < FRAME_WORDS; w++) {
+                available[w] &= ~busyBits[w];
+            }
+        }
+        return available;
+    }
+
+    public Overlap overlap(List<EmployeeTimeZone> employees, LocalDate date) {
+        return overlap(employees, date, BusyCalendar.EMPTY);
+    }
+
+    public Overlap overlap(List<EmployeeTimeZone> employees, LocalDate date, BusyCalendar busy) {
+        if (employees.isEmpty()) {
+            throw new IllegalStateException("No working hours found");
+        }
+
+        long origin = frameOrigin(date);
+        long[] bits = new long[FRAME_WORDS];
+        Arrays.fill(bits, -1L);
+        int latestStart = -1;
+        ZoneCache.CompiledZone zone = null;
+        for (EmployeeTimeZone etz : employees) {
+            DayMask mask = dayMask(etz, date);
+            if (!isWorkingDay(mask, date)) {
+                // Nobody overlaps with someone off work, but the zone is still picked as usual
+                Arrays.fill(bits, 0L);
+            }
+            mask.andInto(bits);
+            long[] busyBits = busy.mask(etz.getEmployeeId(), origin);
+            if (busyBits != null) {
+                for (int w = 0; w < FRAME_WORDS; w++) {
+                    bits[w] &= ~busyBits[w];
+                }
+            }
+            // Slots are reported in the zone of whoever starts last, as before
+            if (mask.start() > latestStart) {
+                latestStart = mask.start();
+                zone = mask.zone();
+            }
+        }
+        return new Overlap(origin, bits, zone);
+    }
+
+    // The mask's date is the employee's local date, so their zone's calendar decides
+    private boolean isWorkingDay(DayMask mask, LocalDate date) {
+        return holidays.isWorkingDay(mask.zone().zoneId().getId(), date);
+    }
+
+    public int cachedSchedules() {
+        return compiled.size();
+    }
+
+    private record Schedule(String timeZone, LocalTime workingHoursStart, LocalTime workingHoursEnd) {
+    }
+
+    // Day masks are cached and shared by every request, so their bits only ever leave as a copy
+    public record DayMask(long[] bits, int start, ZoneCache.CompiledZone zone) {
+        @Override
+        public long[] bits() {
+            return bits.clone();
+        }
+
+        void andInto(long[] target) {
+            for (int w = 0; w < bits.length; w++) {
+                target[w] &= bits[w];
+            }
+        }
+    }
+
+    public record Overlap(long originMinute, long[] bits, ZoneCache.CompiledZone zone) {
+        public boolean isEmpty() {
+            return MinuteBits.isEmpty(bits);
+        }
+
+        public List<ZonedDateTime> toSlots(int stepMinutes) {
+            List<ZonedDateTime> slots = new ArrayList<>();
+            forEachSlot(stepMinutes, epochMinute ->
+                    slots.add(ZonedDateTime.ofInstant(Instant.ofEpochSecond(epochMinute * 60), zone.zoneId())));
+            return slots;
+        }
+
+        // Walks every run of set bits in steps, handing out slot starts as UTC epoch minutes
+        public void forEachSlot(int stepMinutes, LongConsumer consumer) {
+            int start = MinuteBits.nextSetBit(bits, 0);
+            while (start >= 0) {
+                int end = MinuteBits.nextClearBit(bits, start);
+                for (int minute = start; minute < end; minute += stepMinutes) {
+                    consumer.accept(originMinute + minute);
+                }
+                start = MinuteBits.nextSetBit(bits, end);
+            }
+        }
+    }
+
+    private static final class CompiledAvailability {
+        private final LocalTime workingHoursStart;
+        private final LocalTime workingHoursEnd;
+        private final ZoneCache.CompiledZone zone;
+        private final ConcurrentLruCache<Long, DayMask> days;
+
+        CompiledAvailability(Schedule schedule, ZoneCache.CompiledZone zone, int maxDays) {
+            this.workingHoursStart = schedule.workingHoursStart();
+            this.workingHoursEnd = schedule.workingHoursEnd();
+            this.zone = zone;
+            this.days = new ConcurrentLruCache<>(maxDays);
+        }
+
+        DayMask dayMask(LocalDate date) {
+            return days.computeIfAbsent(date.toEpochDay(), day -> compile(date));
+        }
+
+        private DayMask compile(LocalDate date) {
+            long origin = frameOrigin(date);
+            int from = toFrameMinute(zone.toEpochSecond(date, workingHoursStart), origin);
+            int to = toFrameMinute(zone.toEpochSecond(date, workingHoursEnd), origin);
+            long[] bits = new long[FRAME_WORDS];
+            MinuteBits.setRange(bits, from, to);
+            return new DayMask(bits, from < to ? from : -1, zone);
+        }
+
+        private static int toFrameMinute(long epochSecond, long origin) {
+            long minute = Math.floorDiv(epochSecond, 60) - origin;
+            return (int) Math.max(0, Math.min(FRAME_MINUTES, minute));
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.ust.service;
+
+import com.ust.dto.AvailabilityHeatmap;
+import com.ust.model.EmployeeTimeZone;
+import com.ust.repo.EmployeeTimeZoneRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.util.*;
+
+/**
+ * Number of employees online in each UTC hour of the week (Monday 00:00 UTC = 0), kept current by applying the
+ * old and new intervals of every write instead of rescanning the table. Working hours count on every
+ * {@link HolidayCalendarIndex#WORKING_DAYS working day} of the week in each employee's zone, as they do for overlap
+ * and on-shift, and an hour counts when the employee is working at its start. Holidays fall on dates rather than weekdays,
+ * so the weekly heatmap does not take them out.
+ */
+@Component
+@RequiredArgsConstructor
+public class AvailabilityHeatmapIndex {
+    public static final int HOURS_PER_WEEK = 7 * 24;
+    private static final int MINUTES_PER_WEEK = HOURS_PER_WEEK * 60;
+
+    private final EmployeeTimeZoneRepository repository;
+    private final ZoneCache zoneCache;
+
+    private final int[] online = new int[HOURS_PER_WEEK];
+    private final Map<String, int[]> onlineByTimeZone = new HashMap<>();
+    private final Map<Long, Contribution> contributions = new HashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild(repository.findAll());
+    }
+
+    // Offsets are taken as of now, so the counters are rebuilt daily to follow DST changes
+    @Scheduled(cron = "${timezone.heatmap.refresh-cron:0 5 0 * * *}", zone = "UTC")
+    public void refresh() {
+        List<EmployeeTimeZone> rows;
+        synchronized (this) {
+            rows = contributions.values().stream().map(Contribution::source).toList();
+        }
+        rebuild(rows);
+    }
+
+    public synchronized void update(EmployeeTimeZone etz) {
+        remove(etz.getEmployeeId());
+        Contribution contribution = contribution(etz);
+        apply(contribution, 1);
+        contributions.put(etz.getEmployeeId(), contribution);
+    }
+
+    public synchronized void remove(Long employeeId) {
+        Contribution previous = contributions.remove(employeeId);
+        if (previous != null) {
+            apply(previous, -1);
+        }
+    }
+
+    public synchronized AvailabilityHeatmap snapshot(boolean byTimeZone) {
+        Map<String, int[]> zones = null;
+        if (byTimeZone) {
+            zones = new TreeMap<>();
+            for (Map.Entry<String, int[]> entry : onlineByTimeZone.entrySet()) {
+                zones.put(entry.getKey(), entry.getValue().clone());
+            }
+        }
+        return new AvailabilityHeatmap(online.clone(), zones);
+    }
+
+    private synchronized void rebuild(Collection<EmployeeTimeZone> rows) {
+        Arrays.fill(online, 0);
+        onlineByTimeZone.clear();
+        contributions.clear();
+        for (EmployeeTimeZone etz : rows) {
+            update(etz);
+        }
+    }
+
+    private void apply(Contribution contribution, int delta) {
+        int[] zoneCounts = onlineByTimeZone.computeIfAbsent(contribution.source().getTimeZone(),
+                zone -> new int[HOURS_PER_WEEK]);
+        for (int hour : contribution.hours()) {
+            online[hour] += delta;
+            zoneCounts[hour] += delta;
+        }
+        if (delta < 0 && isEmpty(zoneCounts)) {
+            onlineByTimeZone.remove(contribution.source().getTimeZone());
+        }
+    }
+
+    private Contribution contribution(EmployeeTimeZone etz) {
+        int offsetMinutes = zoneCache.zone(etz.getTimeZone()).offsetSecondsAt(System.currentTimeMillis() / 1000) / 60;
+        int start = etz.getWorkingHoursStart().toSecondOfDay() / 60;
+        int end = etz.getWorkingHoursEnd().toSecondOfDay() / 60;
+        if (end <= start) {
+            return new Contribution(etz, new int[0]);
+        }
+
+        int[] hours = new int[HolidayCalendarIndex.WORKING_DAYS.size() * 25];
+        int count = 0;
+        for (DayOfWeek dayOfWeek : HolidayCalendarIndex.WORKING_DAYS) {
+            int day = dayOfWeek.getValue() - 1;
+            int utcStart = day * 24 * 60 + start - offsetMinutes;
+            int utcEnd = day * 24 * 60 + end - offsetMinutes;
+            for (int minute = Math.ceilDiv(utcStart, 60) * 60; minute < utcEnd; minute += 60) {
+                hours[count++] = Math.floorMod(minute, MINUTES_PER_WEEK) / 60;
+            }
+        }
+        return new Contribution(etz, Arrays.copyOf(hours, count));
+    }
+
+    private static boolean isEmpty(int[] counts) {
+        for (int count : counts) {
+            if (count != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private record Contribution(EmployeeTimeZone source, int[] hours) {
+    }
+}
@@ -0,0 +1,100 @@
+package com.ust.service;
+
+import com.ust.model.BusyBlock;
+import com.ust.repo.BusyBlockRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+
+@Service
+@RequiredArgsConstructor
+public class BusyBlockService {
+    // Capping the length lets range queries bound start_time on both sides and stay on the index
+    public static final Duration MAX_BLOCK_LENGTH = Duration.ofDays(1);
+
+    private final BusyBlockRepository repository;
+
+    // Blocks are keyed by employee and start time: an existing block with the same key gets the new end time
+    @Transactional
+    public List<BusyBlock> upsertBusyBlocks(List<BusyBlock> blocks) {
+        Map<Long, List<BusyBlock>> byEmployee = new LinkedHashMap<>();
+        for (BusyBlock block : blocks) {
+            validate(block);
+            byEmployee.computeIfAbsent(block.getEmployeeId(), id -> new ArrayList<>()).add(block);
+        }
+
+        List<BusyBlock> toSave = new ArrayList<>(blocks.size());
+        for (Map.Entry<Long, List<BusyBlock>> entry : byEmployee.entrySet()) {
+            List<BusyBlock> employeeBlocks = entry.getValue();
+            Instant from = employeeBlocks.stream().map(BusyBlock::getStartTime).min(Comparator.naturalOrder()).orElseThrow();
+            Instant to = employeeBlocks.stream().map(BusyBlock::getStartTime).max(Comparator.naturalOrder()).orElseThrow();
+
+            // One range read per employee instead of a lookup per block
+            Map<Instant, BusyBlock> existing = new HashMap<>();
+            for (BusyBlock block : repository.findByEmployeeIdAndStartTimeBetween(entry.getKey(), from, to)) {
+                existing.put(block.getStartTime(), block);
+            }
+            Map<Instant, BusyBlock> merged = new LinkedHashMap<>();
+            for (BusyBlock block : employeeBlocks) {
+                BusyBlock target = existing.get(block.getStartTime());
+                if (target == null) {
+                    target = new BusyBlock(null, block.getEmployeeId(), block.getStartTime(), block.getEndTime());
+                } else {
+                    target.setEndTime(block.getEndTime());
+                }
+                merged.put(block.getStartTime(), target);
+            }
+            toSave.addAll(merged.values());
+        }
+        return repository.saveAll(toSave);
+    }
+
+    public List<BusyBlock> findBusyBlocks(Long employeeId, Instant from, Instant to) {
+        return repository.findOverlapping(List.of(employeeId), from.minus(MAX_BLOCK_LENGTH), from, to);
+    }
+
+    public Optional<BusyBlock> deleteBusyBlock(Long id) {
+        Optional<BusyBlock> block = repository.findById(id);
+        block.ifPresent(repository::delete);
+        return block;
+    }
+
+    // Loads every block touching the availability frames of [from, toExclusive) in a single range query
+    public BusyCalendar calendar(Collection<Long> employeeIds, LocalDate from, LocalDate toExclusive) {
+        if (employeeIds.isEmpty()) {
+            return BusyCalendar.EMPTY;
+        }
+        long fromMinute = AvailabilityEngine.frameOrigin(from);
+        long toMinute = AvailabilityEngine.frameOrigin(toExclusive) + AvailabilityEngine.FRAME_MINUTES
+                - AvailabilityEngine.MINUTES_PER_DAY;
+        Instant fromInstant = Instant.ofEpochSecond(fromMinute * 60);
+        Instant toInstant = Instant.ofEpochSecond(toMinute * 60);
+
+        BusyCalendar.Builder builder = new BusyCalendar.Builder();
+        for (BusyBlock block : repository.findOverlapping(employeeIds, fromInstant.minus(MAX_BLOCK_LENGTH),
+                fromInstant, toInstant)) {
+            // Partial minutes count as busy
+            builder.add(block.getEmployeeId(),
+                    Math.floorDiv(block.getStartTime().getEpochSecond(), 60),
+                    Math.floorDiv(block.getEndTime().getEpochSecond() + 59, 60));
+        }
+        return builder.build();
+    }
+
+    private static void validate(BusyBlock block) {
+        if (block.getEmployeeId() == null || block.getStartTime() == null || block.getEndTime() == null) {
+            throw new IllegalArgumentException("employeeId, startTime and endTime are required");
+        }
+        if (!block.getEndTime().isAfter(block.getStartTime())) {
+            throw new IllegalArgumentException("endTime must be after startTime");
+        }
+        if (Duration.between(block.getStartTime(), block.getEndTime()).compareTo(MAX_BLOCK_LENGTH) > 0) {
+            throw new IllegalArgumentException("Busy blocks cannot be longer than " + MAX_BLOCK_LENGTH);
+        }
+    }
+}
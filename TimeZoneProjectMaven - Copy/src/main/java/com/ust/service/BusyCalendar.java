@@ -0,0 +1,102 @@
+package com.ust.service;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Busy blocks of a set of employees loaded for a date range, held per employee as merged, start-sorted epoch-minute
+ * interval arrays and turned into availability-frame bitmaps on demand.
+ */
+public final class BusyCalendar {
+    public static final BusyCalendar EMPTY = new BusyCalendar(Map.of());
+
+    private final Map<Long, long[][]> intervalsByEmployee;
+
+    private BusyCalendar(Map<Long, long[][]> intervalsByEmployee) {
+        this.intervalsByEmployee = intervalsByEmployee;
+    }
+
+    public boolean isEmpty() {
+        return intervalsByEmployee.isEmpty();
+    }
+
+    // Busy minutes of the employee inside the availability frame of the date, or null when there are none
+    public long[] mask(Long employeeId, long frameOrigin) {
+        long[][] intervals = intervalsByEmployee.get(employeeId);
+        if (intervals == null) {
+            return null;
+        }
+        long[] starts = intervals[0];
+        long[] ends = intervals[1];
+        long frameEnd = frameOrigin + AvailabilityEngine.FRAME_MINUTES;
+
+        // Merged intervals are disjoint and sorted, so ends are sorted too and the first relevant one can be searched
+        int index = lowerBound(ends, frameOrigin + 1);
+        long[] bits = null;
+        for (; index < starts.length && starts[index] < frameEnd; index++) {
+            if (bits == null) {
+                bits = new long[AvailabilityEngine.FRAME_WORDS];
+            }
+            MinuteBits.setRange(bits,
+                    (int) (Math.max(starts[index], frameOrigin) - frameOrigin),
+                    (int) (Math.min(ends[index], frameEnd) - frameOrigin));
+        }
+        return bits;
+    }
+
+    private static int lowerBound(long[] sorted, long key) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    public static final class Builder {
+        private final Map<Long, long[][]> intervals = new HashMap<>();
+        private Long currentEmployee;
+        private long[] starts = new long[8];
+        private long[] ends = new long[8];
+        private int count;
+
+        // Blocks must arrive grouped by employee and sorted by start; overlapping or touching blocks are merged
+        public Builder add(Long employeeId, long startMinute, long endMinute) {
+            if (!employeeId.equals(currentEmployee)) {
+                flush();
+                currentEmployee = employeeId;
+            }
+            if (count > 0 && startMinute <= ends[count - 1]) {
+                ends[count - 1] = Math.max(ends[count - 1], endMinute);
+                return this;
+            }
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count * 2);
+                ends = Arrays.copyOf(ends, count * 2);
+            }
+            starts[count] = startMinute;
+            ends[count] = endMinute;
+            count++;
+            return this;
+        }
+
+        public BusyCalendar build() {
+            flush();
+            return intervals.isEmpty() ? EMPTY : new BusyCalendar(intervals);
+        }
+
+        private void flush() {
+            if (currentEmployee != null && count > 0) {
+                intervals.put(currentEmployee, new long[][]{
+                        Arrays.copyOf(starts, count), Arrays.copyOf(ends, count)});
+            }
+            count = 0;
+        }
+    }
+}
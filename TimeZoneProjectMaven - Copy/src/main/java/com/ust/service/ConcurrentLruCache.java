@@ -0,0 +1,86 @@
+package com.ust.service;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
+
+/**
+ * Bounded cache for hot, read-mostly lookups. A hit is a {@link ConcurrentHashMap} read plus a referenced flag that
+ * is only written when it was clear, so concurrent readers never queue on a shared lock the way they do on an
+ * access-ordered {@code LinkedHashMap}. Eviction is CLOCK, the usual approximation of LRU: entries are visited in
+ * insertion order and one that was used since the last visit gets a second chance instead of being dropped.
+ */
+final class ConcurrentLruCache<K, V> {
+
+    private final int maxEntries;
+    private final Map<K, Node<K, V>> entries = new ConcurrentHashMap<>();
+    private final Queue<Node<K, V>> clock = new ConcurrentLinkedQueue<>();
+    private final Object evictionLock = new Object();
+
+    ConcurrentLruCache(int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be at least 1");
+        }
+        this.maxEntries = maxEntries;
+    }
+
+    V computeIfAbsent(K key, Function<? super K, ? extends V> loader) {
+        Node<K, V> node = entries.get(key);
+        if (node != null) {
+            if (!node.referenced) {
+                node.referenced = true;
+            }
+            return node.value;
+        }
+        Node<K, V> created = new Node<>(key);
+        node = entries.computeIfAbsent(key, k -> created.load(loader));
+        if (node == created) {
+            clock.add(created);
+            if (entries.size() > maxEntries) {
+                evict();
+            }
+        }
+        return node.value;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void evict() {
+        synchronized (evictionLock) {
+            while (entries.size() > maxEntries) {
+                Node<K, V> candidate = clock.poll();
+                if (candidate == null) {
+                    return;
+                }
+                if (entries.get(candidate.key) != candidate) {
+                    continue;
+                }
+                if (candidate.referenced) {
+                    candidate.referenced = false;
+                    clock.add(candidate);
+                } else {
+                    entries.remove(candidate.key, candidate);
+                }
+            }
+        }
+    }
+
+    private static final class Node<K, V> {
+        private final K key;
+        private V value;
+        private volatile boolean referenced;
+
+        Node(K key) {
+            this.key = key;
+        }
+
+        Node<K, V> load(Function<? super K, ? extends V> loader) {
+            value = loader.apply(key);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.ust.service;
+
+import com.ust.dto.EmployeeTimeZoneCacheStats;
+import com.ust.model.EmployeeTimeZone;
+import com.ust.repo.EmployeeTimeZoneRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded read-through cache of {@link EmployeeTimeZone} rows keyed by employee id, with LRU eviction and a TTL.
+ * Writes go through {@link #put} and {@link #invalidate} so the cache never serves a row the service replaced.
+ * Every write bumps a generation for its stripe of ids, and a database load only installs rows whose stripe saw no
+ * write since the load began, so a slow load can never put back a row that a concurrent write replaced or removed.
+ */
+@Component
+public class EmployeeTimeZoneCache {
+    private final EmployeeTimeZoneRepository repository;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LinkedHashMap<Long, Entry> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private static final int WRITE_STRIPES = 1024;
+    // Guarded by entries, like the map itself
+    private final long[] lastWriteByStripe = new long[WRITE_STRIPES];
+    private long writeGeneration;
+
+    public EmployeeTimeZoneCache(EmployeeTimeZoneRepository repository,
+                                 @Value("${timezone.cache.max-entries:100000}") int maxEntries,
+                                 @Value("${timezone.cache.ttl:PT10M}") Duration ttl) {
+        this.repository = repository;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                if (size() > EmployeeTimeZoneCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public Optional<EmployeeTimeZone> findById(Long employeeId) {
+        EmployeeTimeZone cached = getIfPresent(employeeId, System.nanoTime());
+        if (cached != null) {
+            hits.increment();
+            return Optional.of(cached);
+        }
+        misses.increment();
+        long loadStarted;
+        synchronized (entries) {
+            loadStarted = writeGeneration;
+        }
+        Optional<EmployeeTimeZone> loaded = repository.findById(employeeId);
+        loaded.ifPresent(etz -> {
+            synchronized (entries) {
+                installLoaded(etz, loadStarted, System.nanoTime());
+            }
+        });
+        return loaded;
+    }
+
+    // Serves hits from memory and loads all misses with a single query, keeping the order of the requested ids
+    public List<EmployeeTimeZone> findAllById(Collection<Long> employeeIds) {
+        long now = System.nanoTime();
+        Map<Long, EmployeeTimeZone> found = new LinkedHashMap<>();
+        List<Long> missing = new ArrayList<>();
+        long loadStarted;
+        synchronized (entries) {
+            loadStarted = writeGeneration;
+            for (Long employeeId : employeeIds) {
+                if (found.containsKey(employeeId)) {
+                    continue;
+                }
+                EmployeeTimeZone cached = getIfPresent(employeeId, now);
+                found.put(employeeId, cached);
+                if (cached == null) {
+                    missing.add(employeeId);
+                }
+            }
+        }
+        hits.add(found.size() - missing.size());
+        misses.add(missing.size());
+
+        if (!missing.isEmpty()) {
+            List<EmployeeTimeZone> loaded = repository.findAllById(missing);
+            synchronized (entries) {
+                for (EmployeeTimeZone etz : loaded) {
+                    found.put(etz.getEmployeeId(), etz);
+                    installLoaded(etz, loadStarted, now);
+                }
+            }
+        }
+
+        List<EmployeeTimeZone> result = new ArrayList<>(found.size());
+        for (EmployeeTimeZone etz : found.values()) {
+            if (etz != null) {
+                result.add(etz);
+            }
+        }
+        return result;
+    }
+
+    public void put(EmployeeTimeZone employeeTimeZone) {
+        synchronized (entries) {
+            recordWrite(employeeTimeZone.getEmployeeId());
+            entries.put(employeeTimeZone.getEmployeeId(), new Entry(employeeTimeZone, System.nanoTime() + ttlNanos));
+        }
+    }
+
+    public void invalidate(Long employeeId) {
+        synchronized (entries) {
+            recordWrite(employeeId);
+            entries.remove(employeeId);
+        }
+    }
+
+    public EmployeeTimeZoneCacheStats stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new EmployeeTimeZoneCacheStats(size, hits.sum(), misses.sum(), evictions.sum(), expirations.sum());
+    }
+
+    private void recordWrite(long employeeId) {
+        lastWriteByStripe[stripe(employeeId)] = ++writeGeneration;
+    }
+
+    // The caller still gets the row it read; it is just not cached when a write may have overtaken it
+    private void installLoaded(EmployeeTimeZone etz, long loadStarted, long now) {
+        if (lastWriteByStripe[stripe(etz.getEmployeeId())] <= loadStarted) {
+            entries.put(etz.getEmployeeId(), new Entry(etz, now + ttlNanos));
+        }
+    }
+
+    private static int stripe(long employeeId) {
+        return Long.hashCode(employeeId) & (WRITE_STRIPES - 1);
+    }
+
+    private EmployeeTimeZone getIfPresent(Long employeeId, long now) {
+        synchronized (entries) {
+            Entry entry = entries.get(employeeId);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt - now <= 0) {
+                entries.remove(employeeId);
+                expirations.increment();
+                return null;
+            }
+            return entry.value;
+        }
+    }
+
+    private record Entry(EmployeeTimeZone value, long expiresAt) {
+    }
+}
@@ -0,0 +1,164 @@
+package com.ust.service;
+
+import com.ust.dto.EmployeeTimeZoneChange;
+import com.ust.dto.EmployeeTimeZoneChange.ChangeType;
+import com.ust.model.EmployeeTimeZone;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Numbered create, update and delete events kept in a bounded ring so subscribers can resume from the last
+ * sequence they saw. All sends run on one dispatcher thread, which keeps every subscriber's stream in order
+ * and lets the replay of a resuming subscriber hand over to live events without gaps or repeats. Sequences
+ * restart with the process, so event ids are {@code epoch:sequence} and an id from another epoch is never
+ * resumed.
+ */
+@Component
+public class EmployeeTimeZoneChangeFeed {
+    private final String epoch = UUID.randomUUID().toString();
+    private final EmployeeTimeZoneChange[] ring;
+    private final long emitterTimeoutMillis;
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "timezone-change-feed");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Only touched on the dispatcher thread
+    private final List<Subscriber> subscribers = new ArrayList<>();
+    private long nextSequence = 1;
+
+    public EmployeeTimeZoneChangeFeed(@Value("${timezone.change-feed.capacity:10000}") int capacity,
+                                      @Value("${timezone.change-feed.emitter-timeout:PT30M}") Duration emitterTimeout) {
+        this.ring = new EmployeeTimeZoneChange[capacity];
+        this.emitterTimeoutMillis = emitterTimeout.toMillis();
+    }
+
+    public void publish(ChangeType type, Long employeeId, EmployeeTimeZone employeeTimeZone) {
+        // Queued under the lock, so the dispatcher sees changes in sequence order and never skips one as already sent
+        synchronized (this) {
+            EmployeeTimeZoneChange change = new EmployeeTimeZoneChange(nextSequence++, type, employeeId,
+                    employeeTimeZone, Instant.now());
+            ring[(int) (change.sequence() % ring.length)] = change;
+            dispatcher.execute(() -> dispatch(change));
+        }
+    }
+
+    // Without an event id only new events are sent; an id from another epoch or older than the ring gets a reset
+    // event instead
+    public SseEmitter subscribe(String lastEventId) {
+        return subscribe(lastEventId, new SseEmitter(emitterTimeoutMillis));
+    }
+
+    SseEmitter subscribe(String lastEventId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter);
+        Runnable unsubscribe = () -> dispatcher.execute(() -> subscribers.remove(subscriber));
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(error -> unsubscribe.run());
+        dispatcher.execute(() -> start(subscriber, lastEventId));
+        return emitter;
+    }
+
+    String eventId(long sequence) {
+        return epoch + ":" + sequence;
+    }
+
+    // The sequence of an id this epoch handed out, or -1 for an id from before a restart or one that is malformed
+    private long sequenceOf(String eventId) {
+        int separator = eventId.lastIndexOf(':');
+        if (separator < 0 || !eventId.substring(0, separator).equals(epoch)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void start(Subscriber subscriber, String lastEventId) {
+        List<EmployeeTimeZoneChange> backlog = new ArrayList<>();
+        long latest;
+        boolean reset;
+        synchronized (this) {
+            latest = nextSequence - 1;
+            long oldest = Math.max(1, nextSequence - ring.length);
+            long after = lastEventId == null ? latest : sequenceOf(lastEventId);
+            reset = after < oldest - 1 || after > latest;
+            if (!reset) {
+                for (long sequence = after + 1; sequence <= latest; sequence++) {
+                    backlog.add(ring[(int) (sequence % ring.length)]);
+                }
+            }
+        }
+
+        try {
+            if (reset) {
+                // The consumer has to reload /all; live events from here on carry full rows and apply on top
+                subscriber.emitter.send(SseEmitter.event()
+                        .id(eventId(latest))
+                        .name("reset")
+                        .data(Map.of("epoch", epoch, "sequence", latest), MediaType.APPLICATION_JSON));
+            }
+            for (EmployeeTimeZoneChange change : backlog) {
+                send(subscriber, change);
+            }
+        } catch (IOException | IllegalStateException e) {
+            subscriber.emitter.completeWithError(e);
+            return;
+        }
+        subscriber.lastSent = latest;
+        subscribers.add(subscriber);
+    }
+
+    private void dispatch(EmployeeTimeZoneChange change) {
+        subscribers.removeIf(subscriber -> {
+            if (change.sequence() <= subscriber.lastSent) {
+                return false;
+            }
+            try {
+                send(subscriber, change);
+                subscriber.lastSent = change.sequence();
+                return false;
+            } catch (IOException | IllegalStateException e) {
+                subscriber.emitter.completeWithError(e);
+                return true;
+            }
+        });
+    }
+
+    private void send(Subscriber subscriber, EmployeeTimeZoneChange change) throws IOException {
+        subscriber.emitter.send(SseEmitter.event()
+                .id(eventId(change.sequence()))
+                .name(change.type().name().toLowerCase())
+                .data(change, MediaType.APPLICATION_JSON));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.execute(() -> subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+        dispatcher.shutdown();
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private long lastSent;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+    }
+}
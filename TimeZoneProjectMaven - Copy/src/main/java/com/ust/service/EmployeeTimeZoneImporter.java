@@ -0,0 +1,171 @@
+package com.ust.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ust.dto.ImportError;
+import com.ust.dto.ImportResult;
+import com.ust.model.EmployeeTimeZone;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.DateTimeException;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * Reads NDJSON or CSV rows one line at a time and writes them in JDBC batches, one transaction per batch,
+ * so a bad row or a failed batch is reported without aborting the rest of the load. An employee id repeated
+ * anywhere in the load is rejected on its later lines, so every input row is either imported or failed.
+ */
+@Component
+public class EmployeeTimeZoneImporter {
+    // Rows beyond this many errors are still counted as failed, just not itemised
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ZoneCache zoneCache;
+    private final int batchSize;
+
+    public EmployeeTimeZoneImporter(EntityManager entityManager,
+                                    PlatformTransactionManager transactionManager,
+                                    ObjectMapper objectMapper,
+                                    ZoneCache zoneCache,
+                                    @Value("${timezone.import.batch-size:500}") int batchSize) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.zoneCache = zoneCache;
+        this.batchSize = batchSize;
+    }
+
+    // onBatchSaved gets each committed batch and the ids in it that already existed
+    public ImportResult importRows(Reader source, boolean csv, BiConsumer<List<EmployeeTimeZone>, Set<Long>> onBatchSaved)
+            throws IOException {
+        Progress progress = new Progress();
+        List<EmployeeTimeZone> batch = new ArrayList<>(batchSize);
+        List<Long> batchLines = new ArrayList<>(batchSize);
+        Map<Long, Long> firstLines = new HashMap<>();
+        BufferedReader reader = new BufferedReader(source);
+        String line;
+        long lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || (csv && lineNumber == 1 && isCsvHeader(line))) {
+                continue;
+            }
+            try {
+                EmployeeTimeZone row = csv ? parseCsv(line) : objectMapper.readValue(line, EmployeeTimeZone.class);
+                validate(row);
+                Long firstLine = firstLines.putIfAbsent(row.getEmployeeId(), lineNumber);
+                if (firstLine != null) {
+                    throw new IllegalArgumentException("Duplicate employeeId " + row.getEmployeeId()
+                            + ", first seen on line " + firstLine);
+                }
+                batch.add(row);
+                batchLines.add(lineNumber);
+            } catch (IOException | RuntimeException e) {
+                progress.fail(lineNumber, e.getMessage());
+            }
+            if (batch.size() == batchSize) {
+                writeBatch(batch, batchLines, progress, onBatchSaved);
+            }
+        }
+        writeBatch(batch, batchLines, progress, onBatchSaved);
+        return new ImportResult(progress.imported, progress.failed, progress.errors);
+    }
+
+    private void writeBatch(List<EmployeeTimeZone> batch, List<Long> batchLines, Progress progress,
+                            BiConsumer<List<EmployeeTimeZone>, Set<Long>> onBatchSaved) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            SavedBatch saved = transactionTemplate.execute(status -> persist(batch));
+            progress.imported += saved.rows().size();
+            onBatchSaved.accept(saved.rows(), saved.existingIds());
+        } catch (RuntimeException e) {
+            for (Long line : batchLines) {
+                progress.fail(line, "Batch write failed: " + e.getMessage());
+            }
+        }
+        batch.clear();
+        batchLines.clear();
+    }
+
+    // Existing ids are looked up with one query per batch so new rows are plain inserts rather than merges
+    private SavedBatch persist(List<EmployeeTimeZone> batch) {
+        List<Long> ids = batch.stream().map(EmployeeTimeZone::getEmployeeId).toList();
+        Set<Long> existing = new HashSet<>(entityManager
+                .createQuery("SELECT e.employeeId FROM EmployeeTimeZone e WHERE e.employeeId IN :ids", Long.class)
+                .setParameter("ids", ids)
+                .getResultList());
+        for (EmployeeTimeZone row : batch) {
+            if (existing.contains(row.getEmployeeId())) {
+                entityManager.merge(row);
+            } else {
+                entityManager.persist(row);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return new SavedBatch(new ArrayList<>(batch), existing);
+    }
+
+    private void validate(EmployeeTimeZone row) {
+        if (row.getEmployeeId() == null) {
+            throw new IllegalArgumentException("employeeId is required");
+        }
+        if (row.getTimeZone() == null) {
+            throw new IllegalArgumentException("timeZone is required");
+        }
+        if (row.getWorkingHoursStart() == null || row.getWorkingHoursEnd() == null) {
+            throw new IllegalArgumentException("workingHoursStart and workingHoursEnd are required");
+        }
+        try {
+            zoneCache.zone(row.getTimeZone());
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Unknown time zone: " + row.getTimeZone());
+        }
+    }
+
+    // Columns: employeeId,timeZone,workingHoursStart,workingHoursEnd
+    private static EmployeeTimeZone parseCsv(String line) {
+        String[] columns = line.split(",", -1);
+        if (columns.length != 4) {
+            throw new IllegalArgumentException("Expected 4 columns but found " + columns.length);
+        }
+        return new EmployeeTimeZone(
+                Long.valueOf(columns[0].trim()),
+                columns[1].trim(),
+                LocalTime.parse(columns[2].trim()),
+                LocalTime.parse(columns[3].trim()));
+    }
+
+    private static boolean isCsvHeader(String line) {
+        return line.trim().toLowerCase().startsWith("employeeid");
+    }
+
+    private static final class Progress {
+        private long imported;
+        private long failed;
+        private final List<ImportError> errors = new ArrayList<>();
+
+        void fail(long line, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ImportError(line, message));
+            }
+        }
+    }
+
+    private record SavedBatch(List<EmployeeTimeZone> rows, Set<Long> existingIds) {
+    }
+}
@@ -0,0 +1,77 @@
+package com.ust.service;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Pairwise overlap of free (off-duty) intervals computed with a sweep over the intervals sorted by start,
+ * so only pairs that actually overlap are ever visited.
+ */
+public final class FreeHoursSweep {
+    private final long[] employeeIds;
+    private final long[] starts;
+    private final long[] ends;
+    private final Integer[] byStart;
+
+    public FreeHoursSweep(long[] employeeIds, long[] starts, long[] ends) {
+        this.employeeIds = employeeIds;
+        this.starts = starts;
+        this.ends = ends;
+        this.byStart = new Integer[employeeIds.length];
+        for (int i = 0; i < byStart.length; i++) {
+            byStart[i] = i;
+        }
+        Arrays.sort(byStart, (a, b) -> Long.compare(starts[a], starts[b]));
+    }
+
+    public long[] employeeIds() {
+        return employeeIds;
+    }
+
+    // Visits each overlapping pair once as (lower index, higher index) in the original member order
+    public void forEachOverlap(long minOverlapSeconds, OverlapConsumer consumer) throws IOException {
+        int[] active = new int[byStart.length];
+        int activeCount = 0;
+        for (int current : byStart) {
+            long start = starts[current];
+            int kept = 0;
+            for (int a = 0; a < activeCount; a++) {
+                int other = active[a];
+                // Anything ending before this start also ends before every later start
+                if (ends[other] <= start) {
+                    continue;
+                }
+                active[kept++] = other;
+                long overlap = Math.min(ends[other], ends[current]) - start;
+                if (overlap > 0 && overlap >= minOverlapSeconds) {
+                    int first = Math.min(current, other);
+                    int second = Math.max(current, other);
+                    consumer.accept(first, second, overlap);
+                }
+            }
+            activeCount = kept;
+            if (ends[current] > start) {
+                active[activeCount++] = current;
+            }
+        }
+    }
+
+    public int[][] toMatrix() {
+        int n = employeeIds.length;
+        int[][] matrix = new int[n][n];
+        try {
+            forEachOverlap(1, (i, j, seconds) -> {
+                matrix[i][j] = (int) seconds;
+                matrix[j][i] = (int) seconds;
+            });
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return matrix;
+    }
+
+    @FunctionalInterface
+    public interface OverlapConsumer {
+        void accept(int firstIndex, int secondIndex, long overlapSeconds) throws IOException;
+    }
+}
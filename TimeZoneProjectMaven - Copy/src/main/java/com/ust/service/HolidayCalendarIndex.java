@@ -0,0 +1,64 @@
+package com.ust.service;
+
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holidays of every calendar as one 366-bit day-of-year bitmap per year, so the engines can drop a holiday with
+ * two map lookups and a bit test. Calendars are keyed by time zone id. It also owns the one working-day model
+ * that overlap, on-shift and the heatmap share: every day of the week counts unless it is a holiday in that zone.
+ */
+@Component
+public class HolidayCalendarIndex {
+    private static final int WORDS_PER_YEAR = (366 + 63) >>> 6;
+
+    public static final Set<DayOfWeek> WORKING_DAYS = Collections.unmodifiableSet(EnumSet.allOf(DayOfWeek.class));
+
+    private final Map<String, Map<Integer, long[]>> calendars = new ConcurrentHashMap<>();
+
+    public boolean isWorkingDay(String calendar, LocalDate date) {
+        return WORKING_DAYS.contains(date.getDayOfWeek()) && !isHoliday(calendar, date);
+    }
+
+    public boolean isHoliday(String calendar, LocalDate date) {
+        Map<Integer, long[]> years = calendars.get(calendar);
+        if (years == null) {
+            return false;
+        }
+        long[] days = years.get(date.getYear());
+        int day = date.getDayOfYear() - 1;
+        return days != null && (days[day >>> 6] & (1L << day)) != 0;
+    }
+
+    public synchronized void add(String calendar, Collection<LocalDate> dates) {
+        Map<Integer, long[]> years = new HashMap<>(calendars.getOrDefault(calendar, Map.of()));
+        // Each touched year is copied once before being changed, so readers never see a half-applied upload
+        Map<Integer, long[]> changed = new HashMap<>();
+        for (LocalDate date : dates) {
+            long[] days = changed.computeIfAbsent(date.getYear(), year -> {
+                long[] existing = years.get(year);
+                return existing == null ? new long[WORDS_PER_YEAR] : existing.clone();
+            });
+            int day = date.getDayOfYear() - 1;
+            days[day >>> 6] |= 1L << day;
+        }
+        years.putAll(changed);
+        calendars.put(calendar, years);
+    }
+
+    public List<LocalDate> holidays(String calendar, int year) {
+        long[] days = calendars.getOrDefault(calendar, Map.of()).get(year);
+        if (days == null) {
+            return List.of();
+        }
+        List<LocalDate> dates = new ArrayList<>();
+        for (int day = MinuteBits.nextSetBit(days, 0); day >= 0; day = MinuteBits.nextSetBit(days, day + 1)) {
+            dates.add(LocalDate.ofYearDay(year, day + 1));
+        }
+        return dates;
+    }
+}
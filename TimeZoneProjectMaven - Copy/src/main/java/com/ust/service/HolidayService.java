@@ -0,0 +1,79 @@
+package com.ust.service;
+
+import com.ust.dto.HolidayCalendar;
+import com.ust.dto.HolidayUploadResult;
+import com.ust.model.Holiday;
+import com.ust.repo.HolidayRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.*;
+
+@Service
+@RequiredArgsConstructor
+public class HolidayService {
+    private final HolidayRepository repository;
+    private final HolidayCalendarIndex index;
+    private final ZoneCache zoneCache;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        Map<String, List<LocalDate>> byCalendar = new HashMap<>();
+        for (Holiday holiday : repository.findAll()) {
+            byCalendar.computeIfAbsent(holiday.getCalendar(), calendar -> new ArrayList<>()).add(holiday.getDate());
+        }
+        byCalendar.forEach(index::add);
+    }
+
+    // Dates already on a calendar are skipped, so the same file can be uploaded again
+    @Transactional
+    public HolidayUploadResult uploadHolidays(List<HolidayCalendar> calendars) {
+        Map<String, Set<LocalDate>> uploaded = new LinkedHashMap<>();
+        for (HolidayCalendar calendar : calendars) {
+            if (calendar.dates() == null || calendar.dates().stream().anyMatch(Objects::isNull)) {
+                throw new IllegalArgumentException("Holiday dates are required for calendar " + calendar.calendar());
+            }
+            uploaded.computeIfAbsent(calendarKey(calendar.calendar()), key -> new TreeSet<>()).addAll(calendar.dates());
+        }
+
+        long added = 0;
+        long duplicates = 0;
+        List<Holiday> toSave = new ArrayList<>();
+        for (Map.Entry<String, Set<LocalDate>> entry : uploaded.entrySet()) {
+            Set<LocalDate> dates = entry.getValue();
+            for (Holiday existing : repository.findByCalendarAndDateIn(entry.getKey(), dates)) {
+                dates.remove(existing.getDate());
+                duplicates++;
+            }
+            for (LocalDate date : dates) {
+                toSave.add(new Holiday(null, entry.getKey(), date));
+            }
+            added += dates.size();
+        }
+        repository.saveAll(toSave);
+        AfterCommit.run(() -> uploaded.forEach(index::add));
+        return new HolidayUploadResult(added, duplicates);
+    }
+
+    public HolidayCalendar getHolidays(String calendar, int year) {
+        String key = calendarKey(calendar);
+        return new HolidayCalendar(key, index.holidays(key, year));
+    }
+
+    // Calendars follow the employees' time zones, normalised the way the engines look them up
+    private String calendarKey(String calendar) {
+        if (calendar == null) {
+            throw new IllegalArgumentException("calendar is required");
+        }
+        try {
+            return zoneCache.zoneId(calendar).getId();
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Unknown time zone: " + calendar);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.ust.service;
+
+/**
+ * Helpers for minute-resolution bitmaps packed into {@code long[]} words, bit {@code i} being minute {@code i}.
+ */
+public final class MinuteBits {
+
+    private MinuteBits() {
+    }
+
+    public static void setRange(long[] bits, int from, int to) {
+        if (from >= to) {
+            return;
+        }
+        int startWord = from >>> 6;
+        int endWord = (to - 1) >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> -to;
+        if (startWord == endWord) {
+            bits[startWord] |= firstMask & lastMask;
+            return;
+        }
+        bits[startWord] |= firstMask;
+        for (int w = startWord + 1; w < endWord; w++) {
+            bits[w] = -1L;
+        }
+        bits[endWord] |= lastMask;
+    }
+
+    public static int nextSetBit(long[] bits, int from) {
+        int w = from >>> 6;
+        if (w >= bits.length) {
+            return -1;
+        }
+        long word = bits[w] & (-1L << from);
+        while (true) {
+            if (word != 0) {
+                return (w << 6) + Long.numberOfTrailingZeros(word);
+            }
+            if (++w == bits.length) {
+                return -1;
+            }
+            word = bits[w];
+        }
+    }
+
+    public static int nextClearBit(long[] bits, int from) {
+        int w = from >>> 6;
+        if (w >= bits.length) {
+            return from;
+        }
+        long word = ~bits[w] & (-1L << from);
+        while (true) {
+            if (word != 0) {
+                return (w << 6) + Long.numberOfTrailingZeros(word);
+            }
+            if (++w == bits.length) {
+                return bits.length << 6;
+            }
+            word = ~bits[w];
+        }
+    }
+
+    public static boolean isEmpty(long[] bits) {
+        for (long word : bits) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static void forEachRun(long[] bits, RunConsumer consumer) {
+        int start = nextSetBit(bits, 0);
+        while (start >= 0) {
+            int end = nextClearBit(bits, start);
+            consumer.accept(start, end);
+            start = nextSetBit(bits, end);
+        }
+    }
+
+    @FunctionalInterface
+    public interface RunConsumer {
+        void accept(int from, int to);
+    }
+}
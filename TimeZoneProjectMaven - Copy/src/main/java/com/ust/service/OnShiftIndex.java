@@ -0,0 +1,202 @@
+package com.ust.service;
+
+import com.ust.dto.OnShift;
+import com.ust.model.EmployeeTimeZone;
+import com.ust.repo.EmployeeTimeZoneRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Live set of employees inside working hours, kept as a bitmap over dense slots and moved forward by a time wheel
+ * of shift start and end events, one bucket per UTC minute. Shifts follow the availability engine: every local
+ * day except holidays, from the start minute up to the end minute.
+ */
+@Component
+@RequiredArgsConstructor
+public class OnShiftIndex {
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int WHEEL_MINUTES = 4 * MINUTES_PER_DAY;
+    // Events are always scheduled at least this far ahead, so any instant in the next 24 hours can be replayed
+    private static final int LOOKAHEAD_MINUTES = MINUTES_PER_DAY + 60;
+
+    private final EmployeeTimeZoneRepository repository;
+    private final ZoneCache zoneCache;
+    private final HolidayCalendarIndex holidays;
+
+    @SuppressWarnings("unchecked")
+    private final List<Event>[] wheel = new List[WHEEL_MINUTES];
+    private final Map<Long, EmployeeTimeZone> rows = new HashMap<>();
+    private final Map<Long, Integer> slots = new HashMap<>();
+    private long[] slotEmployeeIds = new long[64];
+    private int[] generations = new int[64];
+    private final BitSet onShift = new BitSet();
+    private long appliedThrough;
+    private long scheduledThrough;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild(repository.findAll());
+    }
+
+    @Scheduled(cron = "${timezone.on-shift.tick-cron:0 * * * * *}", zone = "UTC")
+    public synchronized void tick() {
+        advance(currentMinute());
+    }
+
+    public synchronized void refresh() {
+        rebuild(new ArrayList<>(rows.values()));
+    }
+
+    public synchronized void update(EmployeeTimeZone etz) {
+        advance(currentMinute());
+        rows.put(etz.getEmployeeId(), etz);
+        int slot = reset(etz.getEmployeeId());
+        schedule(slot, etz, appliedThrough, scheduledThrough);
+    }
+
+    public synchronized void remove(Long employeeId) {
+        if (rows.remove(employeeId) != null) {
+            reset(employeeId);
+        }
+    }
+
+    // Copies the live bitmap and replays the wheel up to the requested minute; nothing is read from the table
+    public synchronized OnShift onShift(Instant at) {
+        long now = currentMinute();
+        advance(now);
+        long minute = at == null ? now : Math.floorDiv(at.getEpochSecond(), 60);
+        if (minute < now || minute > now + MINUTES_PER_DAY) {
+            throw new IllegalArgumentException("at must be between now and 24 hours from now");
+        }
+
+        BitSet working = (BitSet) onShift.clone();
+        for (long m = now + 1; m <= minute; m++) {
+            apply(m, working, false);
+        }
+        long[] employeeIds = working.stream().mapToLong(slot -> slotEmployeeIds[slot]).sorted().toArray();
+        return new OnShift(at == null ? Instant.ofEpochSecond(now * 60) : at, employeeIds.length, employeeIds);
+    }
+
+    private synchronized void rebuild(Collection<EmployeeTimeZone> source) {
+        Arrays.fill(wheel, null);
+        rows.clear();
+        onShift.clear();
+        appliedThrough = currentMinute();
+        scheduledThrough = appliedThrough + LOOKAHEAD_MINUTES;
+        for (EmployeeTimeZone etz : source) {
+            rows.put(etz.getEmployeeId(), etz);
+            schedule(reset(etz.getEmployeeId()), etz, appliedThrough, scheduledThrough);
+        }
+    }
+
+    // Drops the employee from the live set and orphans their pending events by moving to a new generation
+    private int reset(Long employeeId) {
+        Integer existing = slots.get(employeeId);
+        int slot;
+        if (existing == null) {
+            slot = slots.size();
+            if (slot == slotEmployeeIds.length) {
+                slotEmployeeIds = Arrays.copyOf(slotEmployeeIds, slot * 2);
+                generations = Arrays.copyOf(generations, slot * 2);
+            }
+            slotEmployeeIds[slot] = employeeId;
+            slots.put(employeeId, slot);
+        } else {
+            slot = existing;
+        }
+        generations[slot]++;
+        onShift.clear(slot);
+        return slot;
+    }
+
+    private void advance(long minute) {
+        if (minute - appliedThrough >= WHEEL_MINUTES - LOOKAHEAD_MINUTES) {
+            // Asleep for longer than the wheel holds, so the pending events cannot be trusted
+            rebuild(new ArrayList<>(rows.values()));
+            return;
+        }
+        for (long m = appliedThrough + 1; m <= minute; m++) {
+            apply(m, onShift, true);
+        }
+        appliedThrough = Math.max(appliedThrough, minute);
+
+        while (scheduledThrough < appliedThrough + LOOKAHEAD_MINUTES) {
+            long from = scheduledThrough;
+            scheduledThrough += MINUTES_PER_DAY;
+            for (EmployeeTimeZone etz : rows.values()) {
+                schedule(slots.get(etz.getEmployeeId()), etz, from, scheduledThrough);
+            }
+        }
+    }
+
+    // Ends before starts, so back-to-back shifts never drop someone for the minute they meet
+    private void apply(long minute, BitSet target, boolean consume) {
+        List<Event> bucket = wheel[(int) Math.floorMod(minute, WHEEL_MINUTES)];
+        if (bucket == null) {
+            return;
+        }
+        for (Event event : bucket) {
+            if (event.minute() == minute && !event.start() && event.generation() == generations[event.slot()]) {
+                target.clear(event.slot());
+            }
+        }
+        for (Event event : bucket) {
+            if (event.minute() == minute && event.start() && event.generation() == generations[event.slot()]) {
+                target.set(event.slot());
+            }
+        }
+        if (consume) {
+            bucket.removeIf(event -> event.minute() <= minute);
+        }
+    }
+
+    // Sets the live bit if the employee works at appliedThrough and queues the shift edges in (from, to]
+    private void schedule(int slot, EmployeeTimeZone etz, long from, long to) {
+        ZoneCache.CompiledZone zone = zoneCache.zone(etz.getTimeZone());
+        String calendar = zone.zoneId().getId();
+        int generation = generations[slot];
+        // Local dates are at most a day off the UTC ones
+        for (long day = Math.floorDiv(from, MINUTES_PER_DAY) - 1; day <= Math.floorDiv(to, MINUTES_PER_DAY) + 1; day++) {
+            LocalDate date = LocalDate.ofEpochDay(day);
+            if (!holidays.isWorkingDay(calendar, date)) {
+                continue;
+            }
+            long start = Math.floorDiv(zone.toEpochSecond(date, etz.getWorkingHoursStart()), 60);
+            long end = Math.floorDiv(zone.toEpochSecond(date, etz.getWorkingHoursEnd()), 60);
+            if (start >= end) {
+                continue;
+            }
+            if (start <= appliedThrough && appliedThrough < end) {
+                onShift.set(slot);
+            }
+            if (start > from && start <= to && start > appliedThrough) {
+                enqueue(new Event(start, slot, generation, true));
+            }
+            if (end > from && end <= to && end > appliedThrough) {
+                enqueue(new Event(end, slot, generation, false));
+            }
+        }
+    }
+
+    private void enqueue(Event event) {
+        int index = (int) Math.floorMod(event.minute(), WHEEL_MINUTES);
+        if (wheel[index] == null) {
+            wheel[index] = new ArrayList<>(4);
+        }
+        wheel[index].add(event);
+    }
+
+    private static long currentMinute() {
+        return Math.floorDiv(System.currentTimeMillis(), 60_000);
+    }
+
+    private record Event(long minute, int slot, int generation, boolean start) {
+    }
+}
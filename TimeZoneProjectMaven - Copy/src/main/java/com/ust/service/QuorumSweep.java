@@ -0,0 +1,110 @@
+package com.ust.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Sweeps the sorted start/end events of every attendee's availability runs and keeps the stretches where all
+ * required attendees and at least a minimum number of optional attendees are available. With no required attendees
+ * this is the plain K-of-N quorum.
+ */
+public final class QuorumSweep {
+    private static final int START = 1;
+    private static final int REQUIRED = 2;
+
+    private long[] events = new long[16];
+    private int eventCount;
+
+    public void addAvailability(long[] bits, boolean required) {
+        MinuteBits.forEachRun(bits, (from, to) -> {
+            addEvent(from, START | (required ? REQUIRED : 0));
+            addEvent(to, required ? REQUIRED : 0);
+        });
+    }
+
+    // Consecutive qualifying segments are merged into windows; segment bounds are frame minutes
+    public List<Window> windows(int requiredAttendees, int minOptional) {
+        long[] sorted = Arrays.copyOf(events, eventCount);
+        Arrays.sort(sorted);
+
+        List<Window> windows = new ArrayList<>();
+        Window open = null;
+        int available = 0;
+        int requiredAvailable = 0;
+        int previous = -1;
+        for (long event : sorted) {
+            int minute = (int) (event >>> 2);
+            if (minute > previous && previous >= 0) {
+                boolean qualifies = requiredAvailable == requiredAttendees && available - requiredAvailable >= minOptional
+                        && available > 0;
+                if (qualifies) {
+                    if (open == null || open.end != previous) {
+                        open = new Window(previous);
+                        windows.add(open);
+                    }
+                    open.extend(minute, available);
+                }
+            }
+            int delta = (event & START) != 0 ? 1 : -1;
+            available += delta;
+            if ((event & REQUIRED) != 0) {
+                requiredAvailable += delta;
+            }
+            previous = minute;
+        }
+        return windows;
+    }
+
+    private void addEvent(int minute, int kind) {
+        if (eventCount == events.length) {
+            events = Arrays.copyOf(events, eventCount * 2);
+        }
+        events[eventCount++] = ((long) minute << 2) | kind;
+    }
+
+    public static final class Window {
+        private final int start;
+        private int end;
+        private int minAttendees = Integer.MAX_VALUE;
+        private int maxAttendees;
+        private final List<int[]> segments = new ArrayList<>();
+
+        private Window(int start) {
+            this.start = start;
+            this.end = start;
+        }
+
+        private void extend(int to, int attendees) {
+            segments.add(new int[]{end, to, attendees});
+            end = to;
+            minAttendees = Math.min(minAttendees, attendees);
+            maxAttendees = Math.max(maxAttendees, attendees);
+        }
+
+        public int start() {
+            return start;
+        }
+
+        public int end() {
+            return end;
+        }
+
+        public int minAttendees() {
+            return minAttendees;
+        }
+
+        public int maxAttendees() {
+            return maxAttendees;
+        }
+
+        public int attendeesAt(int minute) {
+            for (int[] segment : segments) {
+                if (minute < segment[1]) {
+                    return segment[2];
+                }
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package com.ust.service;
+
+import com.ust.dto.AttendeeConflict;
+import com.ust.dto.AttendeeConflict.ConflictReason;
+import com.ust.dto.OccurrenceFailure;
+import com.ust.dto.Recurrence;
+import com.ust.dto.RecurringMeetingRequest;
+import com.ust.dto.RecurringMeetingSuggestion;
+import com.ust.dto.RecurringMeetingSuggestionRequest;
+import com.ust.dto.RecurringMeetingValidation;
+import com.ust.model.EmployeeTimeZone;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.*;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+
+/**
+ * Expands a recurrence in the organizer's zone and checks every occurrence for every attendee in one pass per
+ * attendee, reading UTC offsets for all occurrences from the zone's precomputed transitions in a single merge.
+ */
+@Component
+@RequiredArgsConstructor
+public class RecurringMeetingPlanner {
+    public static final int MAX_OCCURRENCES = 500;
+    private static final int SECONDS_PER_DAY = 24 * 60 * 60;
+    private static final int CANDIDATE_STEP_SECONDS = 30 * 60;
+    private static final int DEFAULT_SUGGESTIONS = 5;
+
+    private final EmployeeTimeZoneCache cache;
+    private final ZoneCache zoneCache;
+    private final HolidayCalendarIndex holidays;
+
+    public RecurringMeetingValidation validate(RecurringMeetingRequest request) {
+        if (request.startTime() == null || request.timeZone() == null) {
+            throw new IllegalArgumentException("startTime and timeZone are required");
+        }
+        ZoneCache.CompiledZone organizer = organizerZone(request.timeZone());
+        LocalDateTime startTime = request.startTime();
+        List<LocalDate> dates = expand(startTime.toLocalDate(), request.recurrence());
+        Schedule schedule = schedule(organizer, dates, startTime.toLocalTime().withNano(0),
+                durationSeconds(request.duration()));
+
+        List<List<AttendeeConflict>> conflicts = new ArrayList<>(Collections.nCopies(dates.size(), null));
+        for (Attendee attendee : attendees(request.employeeIds())) {
+            Evaluation evaluation = attendee.evaluate(schedule, holidays);
+            for (int i = 0; i < dates.size(); i++) {
+                if (evaluation.reasons[i] != null) {
+                    if (conflicts.get(i) == null) {
+                        conflicts.set(i, new ArrayList<>());
+                    }
+                    conflicts.get(i).add(attendee.conflict(schedule, evaluation, i));
+                }
+            }
+        }
+
+        List<OccurrenceFailure> failures = new ArrayList<>();
+        for (int i = 0; i < dates.size(); i++) {
+            if (conflicts.get(i) != null) {
+                failures.add(new OccurrenceFailure(i,
+                        ZonedDateTime.ofInstant(Instant.ofEpochSecond(schedule.starts[i]), organizer.zoneId()),
+                        conflicts.get(i)));
+            }
+        }
+        return new RecurringMeetingValidation(dates.size(), dates.size() - failures.size(), failures);
+    }
+
+    // Tries every half hour of the organizer's day and ranks start times by how many occurrences fit everyone
+    public List<RecurringMeetingSuggestion> suggest(RecurringMeetingSuggestionRequest request) {
+        if (request.startDate() == null || request.timeZone() == null) {
+            throw new IllegalArgumentException("startDate and timeZone are required");
+        }
+        ZoneCache.CompiledZone organizer = organizerZone(request.timeZone());
+        int limit = request.limit() == null ? DEFAULT_SUGGESTIONS : request.limit();
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be at least 1");
+        }
+        List<Attendee> attendees = attendees(request.employeeIds());
+        if (attendees.isEmpty()) {
+            throw new IllegalStateException("No working hours found");
+        }
+        List<LocalDate> dates = expand(request.startDate(), request.recurrence());
+        long durationSeconds = durationSeconds(request.duration());
+
+        List<RecurringMeetingSuggestion> suggestions = new ArrayList<>();
+        for (int second = 0; second < SECONDS_PER_DAY; second += CANDIDATE_STEP_SECONDS) {
+            LocalTime time = LocalTime.ofSecondOfDay(second);
+            Schedule schedule = schedule(organizer, dates, time, durationSeconds);
+            boolean[] failed = new boolean[dates.size()];
+            for (Attendee attendee : attendees) {
+                ConflictReason[] reasons = attendee.evaluate(schedule, holidays).reasons;
+                for (int i = 0; i < reasons.length; i++) {
+                    failed[i] |= reasons[i] != null;
+                }
+            }
+            int valid = 0;
+            for (boolean occurrenceFailed : failed) {
+                valid += occurrenceFailed ? 0 : 1;
+            }
+            if (valid > 0) {
+                suggestions.add(new RecurringMeetingSuggestion(time,
+                        ZonedDateTime.ofInstant(Instant.ofEpochSecond(schedule.starts[0]), organizer.zoneId()),
+                        valid, dates.size()));
+            }
+        }
+        return suggestions.stream()
+                .sorted(Comparator.comparingInt(RecurringMeetingSuggestion::validOccurrences).reversed()
+                        .thenComparing(RecurringMeetingSuggestion::localStartTime))
+                .limit(limit)
+                .toList();
+    }
+
+    private ZoneCache.CompiledZone organizerZone(String timeZone) {
+        try {
+            return zoneCache.zone(timeZone);
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Unknown time zone: " + timeZone);
+        }
+    }
+
+    static List<LocalDate> expand(LocalDate first, Recurrence recurrence) {
+        List<LocalDate> dates = occurrenceDates(first, recurrence);
+        if (dates.isEmpty()) {
+            throw new IllegalArgumentException("The recurrence has no occurrences");
+        }
+        return dates;
+    }
+
+    private static List<LocalDate> occurrenceDates(LocalDate first, Recurrence recurrence) {
+        if (recurrence == null || recurrence.frequency() == null) {
+            throw new IllegalArgumentException("recurrence with a frequency is required");
+        }
+        int interval = recurrence.interval() == null ? 1 : recurrence.interval();
+        if (interval < 1) {
+            throw new IllegalArgumentException("interval must be at least 1");
+        }
+        if (recurrence.count() == null && recurrence.until() == null) {
+            throw new IllegalArgumentException("recurrence needs a count or an until date");
+        }
+        int count = recurrence.count() == null ? Integer.MAX_VALUE : recurrence.count();
+        if (count < 1 || (recurrence.count() != null && count > MAX_OCCURRENCES)) {
+            throw new IllegalArgumentException("count must be between 1 and " + MAX_OCCURRENCES);
+        }
+        LocalDate until = recurrence.until() == null ? LocalDate.MAX : recurrence.until();
+
+        List<LocalDate> dates = new ArrayList<>();
+        if (recurrence.frequency() == Recurrence.Frequency.DAILY) {
+            for (LocalDate date = first; !date.isAfter(until) && dates.size() < count; date = date.plusDays(interval)) {
+                addOccurrence(dates, date);
+            }
+            return dates;
+        }
+
+        List<DayOfWeek> days = recurrence.byDay() == null || recurrence.byDay().isEmpty()
+                ? List.of(first.getDayOfWeek())
+                : recurrence.byDay().stream().distinct().sorted().toList();
+        LocalDate week = first.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        while (dates.size() < count) {
+            for (DayOfWeek day : days) {
+                LocalDate date = week.plusDays(day.ordinal());
+                if (date.isAfter(until)) {
+                    return dates;
+                }
+                if (!date.isBefore(first) && dates.size() < count) {
+                    addOccurrence(dates, date);
+                }
+            }
+            week = week.plusWeeks(interval);
+        }
+        return dates;
+    }
+
+    private static void addOccurrence(List<LocalDate> dates, LocalDate date) {
+        if (dates.size() == MAX_OCCURRENCES) {
+            throw new IllegalArgumentException("A recurrence can have at most " + MAX_OCCURRENCES + " occurrences");
+        }
+        dates.add(date);
+    }
+
+    private static long durationSeconds(Duration duration) {
+        if (duration == null || duration.isZero() || duration.isNegative()) {
+            throw new IllegalArgumentException("duration must be positive: " + duration);
+        }
+        if (duration.getSeconds() > SECONDS_PER_DAY) {
+            throw new IllegalArgumentException("duration must be at most 24 hours: " + duration);
+        }
+        return duration.getSeconds();
+    }
+
+    private static Schedule schedule(ZoneCache.CompiledZone organizer, List<LocalDate> dates, LocalTime time,
+                                     long durationSeconds) {
+        long[] starts = new long[dates.size()];
+        long[] ends = new long[dates.size()];
+        for (int i = 0; i < starts.length; i++) {
+            starts[i] = organizer.toEpochSecond(dates.get(i), time);
+            ends[i] = starts[i] + durationSeconds;
+        }
+        return new Schedule(starts, ends, organizer.offsetsSecondsAt(starts));
+    }
+
+    private List<Attendee> attendees(List<Long> employeeIds) {
+        if (employeeIds == null || employeeIds.isEmpty()) {
+            throw new IllegalArgumentException("employeeIds are required");
+        }
+        List<Attendee> attendees = new ArrayList<>();
+        for (EmployeeTimeZone etz : cache.findAllById(new LinkedHashSet<>(employeeIds))) {
+            attendees.add(new Attendee(etz.getEmployeeId(), zoneCache.zone(etz.getTimeZone()),
+                    etz.getWorkingHoursStart().toSecondOfDay(), etz.getWorkingHoursEnd().toSecondOfDay()));
+        }
+        return attendees;
+    }
+
+    private record Schedule(long[] starts, long[] ends, int[] organizerOffsets) {
+    }
+
+    // Per occurrence: why it fails (null if it fits), the local start and end as seconds from the local midnight
+    // of the start, and how far the organizer-to-attendee offset moved since the first occurrence
+    private record Evaluation(ConflictReason[] reasons, long[] startSeconds, long[] endSeconds, int[] shifts,
+                              boolean[] dstShifts) {
+    }
+
+    private record Attendee(Long employeeId, ZoneCache.CompiledZone zone, int workStart, int workEnd) {
+
+        // Same rule as validateMeetingTime: start strictly inside working hours and end by the time they end
+        Evaluation evaluate(Schedule schedule, HolidayCalendarIndex holidays) {
+            int n = schedule.starts.length;
+            int[] startOffsets = zone.offsetsSecondsAt(schedule.starts);
+            int[] endOffsets = zone.offsetsSecondsAt(schedule.ends);
+            int firstRelative = startOffsets[0] - schedule.organizerOffsets[0];
+            String calendar = zone.zoneId().getId();
+
+            Evaluation evaluation = new Evaluation(new ConflictReason[n], new long[n], new long[n], new int[n],
+                    new boolean[n]);
+            for (int i = 0; i < n; i++) {
+                long localStart = schedule.starts[i] + startOffsets[i];
+                long day = Math.floorDiv(localStart, SECONDS_PER_DAY);
+                long startSecond = localStart - day * SECONDS_PER_DAY;
+                long endSecond = schedule.ends[i] + endOffsets[i] - day * SECONDS_PER_DAY;
+                int shift = startOffsets[i] - schedule.organizerOffsets[i] - firstRelative;
+
+                ConflictReason reason = holidays.isHoliday(calendar, LocalDate.ofEpochDay(day))
+                        ? ConflictReason.HOLIDAY
+                        : outsideHours(startSecond, endSecond);
+                evaluation.reasons[i] = reason;
+                evaluation.startSeconds[i] = startSecond;
+                evaluation.endSeconds[i] = endSecond;
+                evaluation.shifts[i] = shift;
+                // Blame DST only when the occurrence would have fit at the first occurrence's offsets
+                evaluation.dstShifts[i] = reason != null && reason != ConflictReason.HOLIDAY && shift != 0
+                        && outsideHours(startSecond - shift, endSecond - shift) == null;
+            }
+            return evaluation;
+        }
+
+        private ConflictReason outsideHours(long startSecond, long endSecond) {
+            if (startSecond <= workStart) {
+                return ConflictReason.STARTS_BEFORE_WORKING_HOURS;
+            }
+            if (startSecond >= workEnd) {
+                return ConflictReason.STARTS_AFTER_WORKING_HOURS;
+            }
+            return endSecond > workEnd ? ConflictReason.ENDS_AFTER_WORKING_HOURS : null;
+        }
+
+        AttendeeConflict conflict(Schedule schedule, Evaluation evaluation, int i) {
+            ConflictReason reason = evaluation.reasons[i];
+            String hours = localTime(workStart) + "-" + localTime(workEnd);
+            String detail = switch (reason) {
+                case HOLIDAY -> "Holiday in " + zone.zoneId().getId();
+                case STARTS_BEFORE_WORKING_HOURS ->
+                        "Starts at " + localTime(evaluation.startSeconds[i]) + " local, before working hours " + hours;
+                case STARTS_AFTER_WORKING_HOURS ->
+                        "Starts at " + localTime(evaluation.startSeconds[i]) + " local, after working hours " + hours;
+                case ENDS_AFTER_WORKING_HOURS ->
+                        "Ends at " + localTime(evaluation.endSeconds[i]) + " local, after working hours " + hours;
+            };
+            if (evaluation.dstShifts[i]) {
+                detail += "; a DST change moved it from "
+                        + localTime(evaluation.startSeconds[i] - evaluation.shifts[i]);
+            }
+            return new AttendeeConflict(employeeId, reason, evaluation.dstShifts[i],
+                    ZonedDateTime.ofInstant(Instant.ofEpochSecond(schedule.starts[i]), zone.zoneId()), detail);
+        }
+
+        private static LocalTime localTime(long secondOfDay) {
+            return LocalTime.ofSecondOfDay(Math.floorMod(secondOfDay, SECONDS_PER_DAY));
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.ust.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Members and last computed results of every team that has been queried. Results are dropped when a member's
+ * availability changes, found through an employee-to-teams index, and the members when the team itself changes.
+ */
+@Component
+public class TeamResultCache {
+    private static final int MAX_RESULTS_PER_TEAM = 32;
+
+    private final Map<Long, TeamMemo> teams = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> teamsByEmployee = new ConcurrentHashMap<>();
+
+    public Optional<List<Long>> members(Long teamId) {
+        TeamMemo memo = teams.get(teamId);
+        return memo == null ? Optional.empty() : Optional.of(memo.members);
+    }
+
+    public synchronized void register(Long teamId, List<Long> memberIds) {
+        remove(teamId);
+        teams.put(teamId, new TeamMemo(List.copyOf(memberIds)));
+        for (Long employeeId : memberIds) {
+            teamsByEmployee.computeIfAbsent(employeeId, id -> ConcurrentHashMap.newKeySet()).add(teamId);
+        }
+    }
+
+    public synchronized void remove(Long teamId) {
+        TeamMemo memo = teams.remove(teamId);
+        if (memo == null) {
+            return;
+        }
+        for (Long employeeId : memo.members) {
+            Set<Long> memberOf = teamsByEmployee.get(employeeId);
+            if (memberOf != null) {
+                memberOf.remove(teamId);
+                if (memberOf.isEmpty()) {
+                    teamsByEmployee.remove(employeeId);
+                }
+            }
+        }
+    }
+
+    // The members handed to compute come from the same memo the result is stored in, so a result is never kept for
+    // a member list other than the one it was computed from. Results computed while an invalidation ran are handed
+    // out but not kept, since they may predate the change. Empty when the team is not registered.
+    @SuppressWarnings("unchecked")
+    public <T> Optional<T> result(Long teamId, Object key, Function<List<Long>, T> compute) {
+        TeamMemo memo = teams.get(teamId);
+        if (memo == null) {
+            return Optional.empty();
+        }
+        long version;
+        synchronized (memo) {
+            Object cached = memo.results.get(key);
+            if (cached != null) {
+                return Optional.of((T) cached);
+            }
+            version = memo.version;
+        }
+        T value = compute.apply(memo.members);
+        synchronized (memo) {
+            if (memo.version == version) {
+                memo.results.put(key, value);
+            }
+        }
+        return Optional.of(value);
+    }
+
+    public void invalidateEmployees(Collection<Long> employeeIds) {
+        for (Long employeeId : employeeIds) {
+            Set<Long> memberOf = teamsByEmployee.get(employeeId);
+            if (memberOf != null) {
+                memberOf.forEach(this::invalidateTeam);
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        teams.keySet().forEach(this::invalidateTeam);
+    }
+
+    private void invalidateTeam(Long teamId) {
+        TeamMemo memo = teams.get(teamId);
+        if (memo != null) {
+            synchronized (memo) {
+                memo.results.clear();
+                memo.version++;
+            }
+        }
+    }
+
+    private static final class TeamMemo {
+        private final List<Long> members;
+        private final Map<Object, Object> results = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Object> eldest) {
+                return size() > MAX_RESULTS_PER_TEAM;
+            }
+        };
+        private long version;
+
+        TeamMemo(List<Long> members) {
+            this.members = members;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.ust.service;
+
+import com.ust.dto.MeetingSuggestion;
+import com.ust.model.Team;
+import com.ust.repo.TeamRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+@Service
+@RequiredArgsConstructor
+public class TeamService {
+    private final TeamRepository repository;
+    private final TeamResultCache resultCache;
+    private final TimeZoneService timeZoneService;
+
+    public synchronized Team createTeam(Team team) {
+        validate(team);
+        team.setId(null);
+        Team saved = repository.save(team);
+        resultCache.register(saved.getId(), saved.getMemberIds());
+        return saved;
+    }
+
+    public synchronized Optional<Team> updateTeam(Long teamId, Team team) {
+        validate(team);
+        return repository.findById(teamId).map(existing -> {
+            existing.setName(team.getName());
+            existing.setMemberIds(team.getMemberIds());
+            Team saved = repository.save(existing);
+            resultCache.register(teamId, saved.getMemberIds());
+            return saved;
+        });
+    }
+
+    public synchronized boolean deleteTeam(Long teamId) {
+        if (!repository.existsById(teamId)) {
+            return false;
+        }
+        repository.deleteById(teamId);
+        resultCache.remove(teamId);
+        return true;
+    }
+
+    public Optional<Team> getTeam(Long teamId) {
+        return repository.findById(teamId);
+    }
+
+    public List<Team> getAllTeams() {
+        return repository.findAll();
+    }
+
+    // The overlap mask of a date is kept once and cut into whichever step is asked for
+    public Optional<List<ZonedDateTime>> getOverlappingWorkingHours(Long teamId, LocalDate date, int stepMinutes) {
+        return result(teamId, new OverlapKey(date), members -> timeZoneService.calculateOverlap(members, date))
+                .map(overlap -> timeZoneService.overlapSlots(overlap, stepMinutes));
+    }
+
+    public Optional<List<MeetingSuggestion>> suggestMeetingTimes(Long teamId, LocalDate startDate, int daysToCheck,
+                                                                 int limit) {
+        return result(teamId, new SuggestionKey(startDate, daysToCheck, limit),
+                members -> timeZoneService.suggestMeetingTimes(members, startDate, daysToCheck, limit));
+    }
+
+    public Optional<ZonedDateTime> suggestBestMeetingTime(Long teamId, LocalDate startDate, int daysToCheck) {
+        return suggestMeetingTimes(teamId, startDate, daysToCheck, 1).map(suggestions -> suggestions.stream()
+                .findFirst()
+                .map(MeetingSuggestion::startTime)
+                .orElseThrow(() -> new IllegalStateException("No suitable meeting time found")));
+    }
+
+    // Free hours depend on the current date, so each day gets its own entry
+    public Optional<Map<String, Duration>> getTeamFreeHoursOverlap(Long teamId) {
+        LocalDate today = LocalDate.now();
+        return result(teamId, new FreeHoursKey(today),
+                members -> timeZoneService.getTeamFreeHoursOverlap(members, today));
+    }
+
+    // Members are read once and then served from the result cache until the team changes
+    private <T> Optional<T> result(Long teamId, Object key, Function<List<Long>, T> compute) {
+        if (resultCache.members(teamId).isEmpty()) {
+            synchronized (this) {
+                if (resultCache.members(teamId).isEmpty()) {
+                    repository.findById(teamId).ifPresent(team -> resultCache.register(teamId, team.getMemberIds()));
+                }
+            }
+        }
+        return resultCache.result(teamId, key, compute);
+    }
+
+    private static void validate(Team team) {
+        if (team.getName() == null || team.getName().isBlank()) {
+            throw new IllegalArgumentException("Team name is required");
+        }
+        if (team.getMemberIds() == null || team.getMemberIds().isEmpty() || team.getMemberIds().contains(null)) {
+            throw new IllegalArgumentException("A team needs at least one member");
+        }
+    }
+
+    private record OverlapKey(LocalDate date) {
+    }
+
+    private record SuggestionKey(LocalDate startDate, int daysToCheck, int limit) {
+    }
+
+    private record FreeHoursKey(LocalDate date) {
+    }
+}
@@ -1,108 +1,501 @@
 package com.ust.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ust.dto.AvailabilityHeatmap;
+import com.ust.dto.CompactSlots;
+import com.ust.dto.EmployeeTimeZoneCacheStats;
+import com.ust.dto.EmployeeTimeZoneChange.ChangeType;
+import com.ust.dto.EmployeeTimeZonePage;
+import com.ust.dto.FreeHoursOverlapMatrix;
+import com.ust.dto.HolidayCalendar;
+import com.ust.dto.HolidayUploadResult;
+import com.ust.dto.ImportResult;
+import com.ust.dto.MeetingProposal;
+import com.ust.dto.MeetingSuggestion;
+import com.ust.dto.OnShift;
+import com.ust.dto.QuorumResult;
+import com.ust.dto.QuorumSlot;
+import com.ust.dto.QuorumWindow;
+import com.ust.dto.RecurringMeetingRequest;
+import com.ust.dto.RecurringMeetingSuggestion;
+import com.ust.dto.RecurringMeetingSuggestionRequest;
+import com.ust.dto.RecurringMeetingValidation;
+import com.ust.dto.SlotFormat;
+import com.ust.dto.SlotPage;
+import com.ust.dto.ZoneCacheStats;
+import com.ust.model.BusyBlock;
 import com.ust.model.EmployeeTimeZone;
 import com.ust.repo.EmployeeTimeZoneRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.time.*;
 import java.util.*;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 
 @Service
 @RequiredArgsConstructor
 public class TimeZoneService {
+    private static final int SLOT_MINUTES = 30;
+    private static final int MAX_HORIZON_DAYS = 365;
+    private static final int BUSY_CHUNK_DAYS = 7;
+    private static final int MAX_PAGE_SIZE = 10_000;
+    private static final int MINUTES_PER_DAY = AvailabilityEngine.MINUTES_PER_DAY;
+    private static final long SECONDS_PER_DAY = MINUTES_PER_DAY * 60L;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    // Score of a slot by its local minute of the week, computed once from the scoring rules
+    private static final int[] SLOT_SCORES = buildSlotScores();
+    // Lower score first, and among equal scores the later slot first, so the heap head is the one to drop
+    private static final Comparator<ScoredSlot> WORST_SLOT_FIRST = Comparator.comparingInt(ScoredSlot::score)
+            .thenComparing(Comparator.comparingLong(ScoredSlot::epochMinute).reversed());
+
     private final EmployeeTimeZoneRepository repository;
+    private final EmployeeTimeZoneCache cache;
+    private final AvailabilityEngine availabilityEngine;
+    private final ZoneCache zoneCache;
+    private final EmployeeTimeZoneImporter importer;
+    private final AvailabilityHeatmapIndex heatmapIndex;
+    private final OnShiftIndex onShiftIndex;
+    private final EmployeeTimeZoneChangeFeed changeFeed;
+    private final BusyBlockService busyBlockService;
+    private final HolidayService holidayService;
+    private final TeamResultCache teamResultCache;
+    private final RecurringMeetingPlanner recurringMeetingPlanner;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
 
     public EmployeeTimeZone saveEmployeeTimeZone(EmployeeTimeZone employeeTimeZone) {
-        return repository.save(employeeTimeZone);
+        boolean existed = employeeTimeZone.getEmployeeId() != null
+                && cache.findById(employeeTimeZone.getEmployeeId()).isPresent();
+        EmployeeTimeZone saved = repository.save(employeeTimeZone);
+        cache.put(saved);
+        heatmapIndex.update(saved);
+        onShiftIndex.update(saved);
+        teamResultCache.invalidateEmployees(List.of(saved.getEmployeeId()));
+        changeFeed.publish(existed ? ChangeType.UPDATED : ChangeType.CREATED, saved.getEmployeeId(), saved);
+        return saved;
+    }
+
+    public ImportResult importEmployeeTimeZones(Reader source, boolean csv) throws IOException {
+        return importer.importRows(source, csv, (saved, existingIds) -> {
+            for (EmployeeTimeZone etz : saved) {
+                cache.put(etz);
+                heatmapIndex.update(etz);
+                onShiftIndex.update(etz);
+                changeFeed.publish(existingIds.contains(etz.getEmployeeId()) ? ChangeType.UPDATED : ChangeType.CREATED,
+                        etz.getEmployeeId(), etz);
+            }
+            teamResultCache.invalidateEmployees(saved.stream().map(EmployeeTimeZone::getEmployeeId).toList());
+        });
     }
 
     public List<EmployeeTimeZone> getAllEmployeeTimeZones() {
         return repository.findAll();
     }
 
+    // Keyset pagination: the next page starts after the last id returned, so deep pages cost the same as the first.
+    // One extra row is read to tell whether another page exists, so the last page never links to an empty one.
+    public EmployeeTimeZonePage getEmployeeTimeZonePage(Long afterId, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        List<EmployeeTimeZone> items = repository.findByEmployeeIdGreaterThanOrderByEmployeeIdAsc(
+                afterId == null ? Long.MIN_VALUE : afterId, Limit.of(size + 1));
+        if (items.size() <= size) {
+            return new EmployeeTimeZonePage(items, null);
+        }
+        List<EmployeeTimeZone> page = items.subList(0, size);
+        return new EmployeeTimeZonePage(page, page.get(size - 1).getEmployeeId());
+    }
+
+    // Writes one JSON object per line while rows are fetched; each row is detached once written
+    @Transactional(readOnly = true)
+    public void exportEmployeeTimeZones(OutputStream outputStream) throws IOException {
+        try (Stream<EmployeeTimeZone> rows = repository.streamAll()) {
+            Iterator<EmployeeTimeZone> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                EmployeeTimeZone etz = iterator.next();
+                outputStream.write(objectMapper.writeValueAsBytes(etz));
+                outputStream.write('\n');
+                entityManager.detach(etz);
+            }
+        }
+        outputStream.flush();
+    }
+
     public Optional<EmployeeTimeZone> getEmployeeTimeZoneById(Long employeeId) {
-        return repository.findById(employeeId);
+        return cache.findById(employeeId);
     }
     public void deleteEmployeeTimeZone(Long employeeId) {
         repository.deleteById(employeeId);
+        cache.invalidate(employeeId);
+        heatmapIndex.remove(employeeId);
+        onShiftIndex.remove(employeeId);
+        teamResultCache.invalidateEmployees(List.of(employeeId));
+        changeFeed.publish(ChangeType.DELETED, employeeId, null);
+    }
+
+    public AvailabilityHeatmap getAvailabilityHeatmap(boolean byTimeZone) {
+        return heatmapIndex.snapshot(byTimeZone);
+    }
+
+    public SseEmitter subscribeToChanges(String lastEventId) {
+        return changeFeed.subscribe(lastEventId);
+    }
+
+    public OnShift getOnShift(Instant at) {
+        return onShiftIndex.onShift(at);
+    }
+
+    public List<BusyBlock> upsertBusyBlocks(List<BusyBlock> blocks) {
+        List<BusyBlock> saved = busyBlockService.upsertBusyBlocks(blocks);
+        teamResultCache.invalidateEmployees(saved.stream().map(BusyBlock::getEmployeeId).distinct().toList());
+        return saved;
+    }
+
+    public List<BusyBlock> getBusyBlocks(Long employeeId, Instant from, Instant to) {
+        return busyBlockService.findBusyBlocks(employeeId, from, to);
+    }
+
+    public boolean deleteBusyBlock(Long id) {
+        Optional<BusyBlock> deleted = busyBlockService.deleteBusyBlock(id);
+        deleted.ifPresent(block -> teamResultCache.invalidateEmployees(List.of(block.getEmployeeId())));
+        return deleted.isPresent();
+    }
+
+    public HolidayUploadResult uploadHolidays(List<HolidayCalendar> calendars) {
+        HolidayUploadResult result = holidayService.uploadHolidays(calendars);
+        teamResultCache.invalidateAll();
+        onShiftIndex.refresh();
+        return result;
+    }
+
+    public HolidayCalendar getHolidays(String calendar, int year) {
+        return holidayService.getHolidays(calendar, year);
+    }
+
+    public EmployeeTimeZoneCacheStats getCacheStats() {
+        return cache.stats();
+    }
+
+    public ZoneCacheStats getZoneCacheStats() {
+        return zoneCache.stats();
     }
 
     public boolean validateMeetingTime(List<Long> employeeIds, ZonedDateTime proposedMeetingTime) {
-        List<EmployeeTimeZone> employeeTimeZones = repository.findAllById(employeeIds);
-        return employeeTimeZones.stream().allMatch(etz -> {
-            ZoneId employeeZone = ZoneId.of(etz.getTimeZone());
-            ZonedDateTime employeeTime = proposedMeetingTime.withZoneSameInstant(employeeZone);
-            return employeeTime.toLocalTime().isAfter(etz.getWorkingHoursStart()) &&
-                    employeeTime.toLocalTime().isBefore(etz.getWorkingHoursEnd());
-        });
+        List<EmployeeTimeZone> employeeTimeZones = cache.findAllById(employeeIds);
+        long epochSecond = proposedMeetingTime.toEpochSecond();
+        int nano = proposedMeetingTime.getNano();
+        return employeeTimeZones.stream()
+                .allMatch(etz -> workingWindow(etz).covers(epochSecond, nano, 0));
+    }
+
+    // Loads every distinct attendee once, then checks each proposal's whole duration in a single pass
+    public List<Boolean> validateMeetingTimes(List<MeetingProposal> proposals) {
+        Set<Long> employeeIds = new LinkedHashSet<>();
+        for (MeetingProposal proposal : proposals) {
+            // A missing duration checks the start instant only, like the single-meeting endpoint
+            if (proposal.duration() != null && (proposal.duration().isZero() || proposal.duration().isNegative())) {
+                throw new IllegalArgumentException("duration must be positive: " + proposal.duration());
+            }
+            employeeIds.addAll(proposal.employeeIds());
+        }
+        Map<Long, WorkingWindow> windows = new HashMap<>();
+        for (EmployeeTimeZone etz : cache.findAllById(employeeIds)) {
+            windows.put(etz.getEmployeeId(), workingWindow(etz));
+        }
+
+        List<Boolean> results = new ArrayList<>(proposals.size());
+        for (MeetingProposal proposal : proposals) {
+            long epochSecond = proposal.startTime().toEpochSecond();
+            int nano = proposal.startTime().getNano();
+            long durationNanos = proposal.duration() == null ? 0 : proposal.duration().toNanos();
+            boolean valid = true;
+            for (Long employeeId : proposal.employeeIds()) {
+                WorkingWindow window = windows.get(employeeId);
+                if (window != null && !window.covers(epochSecond, nano, durationNanos)) {
+                    valid = false;
+                    break;
+                }
+            }
+            results.add(valid);
+        }
+        return results;
+    }
+
+    public RecurringMeetingValidation validateRecurringMeeting(RecurringMeetingRequest request) {
+        return recurringMeetingPlanner.validate(request);
+    }
+
+    public List<RecurringMeetingSuggestion> suggestRecurringMeetingTimes(RecurringMeetingSuggestionRequest request) {
+        return recurringMeetingPlanner.suggest(request);
+    }
+
+    private WorkingWindow workingWindow(EmployeeTimeZone etz) {
+        return new WorkingWindow(zoneCache.zone(etz.getTimeZone()),
+                etz.getWorkingHoursStart().toNanoOfDay(), etz.getWorkingHoursEnd().toNanoOfDay());
     }
 
     public List<ZonedDateTime> calculateOverlappingWorkingHours(List<Long> employeeIds, LocalDate date) {
-        List<EmployeeTimeZone> employeeTimeZones = repository.findAllById(employeeIds);
-
-        // Convert working hours to ZonedDateTime for the given date
-        List<Map.Entry<ZonedDateTime, ZonedDateTime>> workingHours = employeeTimeZones.stream()
-                .map(etz -> {
-                    ZoneId zoneId = ZoneId.of(etz.getTimeZone());
-                    ZonedDateTime start = ZonedDateTime.of(date, etz.getWorkingHoursStart(), zoneId);
-                    ZonedDateTime end = ZonedDateTime.of(date, etz.getWorkingHoursEnd(), zoneId);
-                    return Map.entry(start, end);
-                })
-                .toList();
+        return calculateOverlappingWorkingHours(employeeIds, date, SLOT_MINUTES);
+    }
 
-        // Find the latest start time and earliest end time
-        ZonedDateTime latestStart = workingHours.stream()
-                .map(Map.Entry::getKey)
-                .max(ZonedDateTime::compareTo)
-                .orElseThrow(() -> new IllegalStateException("No working hours found"));
+    public List<ZonedDateTime> calculateOverlappingWorkingHours(List<Long> employeeIds, LocalDate date, int stepMinutes) {
+        return overlapSlots(overlap(employeeIds, date, stepMinutes), stepMinutes);
+    }
 
-        ZonedDateTime earliestEnd = workingHours.stream()
-                .map(Map.Entry::getValue)
-                .min(ZonedDateTime::compareTo)
-                .orElseThrow(() -> new IllegalStateException("No working hours found"));
+    // Slots of an overlap computed earlier, so a kept overlap can be cut into any step
+    public List<ZonedDateTime> overlapSlots(AvailabilityEngine.Overlap overlap, int stepMinutes) {
+        validateStepMinutes(stepMinutes);
 
         // If there's no overlap, return an empty list
-        if (latestStart.isAfter(earliestEnd)) {
+        if (overlap.isEmpty()) {
             return Collections.emptyList();
         }
 
-        // Generate 30-minute slots within the overlapping period
-        List<ZonedDateTime> slots = new ArrayList<>();
-        ZonedDateTime slotStart = latestStart;
-        while (slotStart.isBefore(earliestEnd)) {
-            slots.add(slotStart);
-            slotStart = slotStart.plusMinutes(30);
+        // Generate slots of the requested step within the overlapping period
+        return overlap.toSlots(stepMinutes);
+    }
+
+    // Same overlap as above without a ZonedDateTime per slot: merged runs, or the packed slot starts
+    public CompactSlots calculateOverlappingSlots(List<Long> employeeIds, LocalDate date, int stepMinutes, SlotFormat format) {
+        AvailabilityEngine.Overlap overlap = overlap(employeeIds, date, stepMinutes);
+        String zone = overlap.isEmpty() ? null : overlap.zone().zoneId().getId();
+        int stepSeconds = stepMinutes * 60;
+
+        if (format == SlotFormat.EPOCHS) {
+            LongStream.Builder epochSeconds = LongStream.builder();
+            overlap.forEachSlot(stepMinutes, epochMinute -> epochSeconds.add(epochMinute * 60));
+            return new CompactSlots(zone, stepSeconds, null, epochSeconds.build().toArray());
         }
 
-        return slots;
+        List<long[]> intervals = new ArrayList<>();
+        long origin = overlap.originMinute();
+        MinuteBits.forEachRun(overlap.bits(), (from, to) ->
+                intervals.add(new long[]{(origin + from) * 60, (origin + to) * 60, stepSeconds}));
+        return new CompactSlots(zone, stepSeconds, intervals.toArray(long[][]::new), null);
     }
 
-    public ZonedDateTime suggestBestMeetingTime(List<Long> employeeIds, LocalDate startDate, int daysToCheck) {
-        Map<ZonedDateTime, Integer> slotScores = new HashMap<>();
+    private AvailabilityEngine.Overlap overlap(List<Long> employeeIds, LocalDate date, int stepMinutes) {
+        validateStepMinutes(stepMinutes);
+        return calculateOverlap(employeeIds, date);
+    }
+
+    private static void validateStepMinutes(int stepMinutes) {
+        if (stepMinutes < 1 || stepMinutes > MINUTES_PER_DAY) {
+            throw new IllegalArgumentException("stepMinutes must be between 1 and " + MINUTES_PER_DAY);
+        }
+    }
 
-        for (int i = 0; i < daysToCheck; i++) {
-            LocalDate date = startDate.plusDays(i);
-            List<ZonedDateTime> overlappingSlots = calculateOverlappingWorkingHours(employeeIds, date);
+    public AvailabilityEngine.Overlap calculateOverlap(List<Long> employeeIds, LocalDate date) {
+        List<EmployeeTimeZone> employeeTimeZones = cache.findAllById(employeeIds);
+
+        // AND the precomputed UTC minute masks of every attendee for the given date, minus their busy blocks
+        BusyCalendar busy = busyBlockService.calendar(employeeIds, date, date.plusDays(1));
+        return availabilityEngine.overlap(employeeTimeZones, date, busy);
+    }
+
+    // minOptional counts attendees beyond the required ones, so without required ids it is a plain K-of-N quorum
+    public QuorumResult findQuorumSlots(List<Long> employeeIds, List<Long> requiredIds, int minOptional,
+                                        LocalDate date, int limit) {
+        if (minOptional < 0) {
+            throw new IllegalArgumentException("minOptional must not be negative");
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be at least 1");
+        }
+        Set<Long> attendeeIds = new LinkedHashSet<>(employeeIds);
+        Set<Long> required = requiredIds == null ? Set.of() : new HashSet<>(requiredIds);
+        attendeeIds.addAll(required);
+        List<EmployeeTimeZone> attendees = cache.findAllById(attendeeIds);
+        // A required attendee without working hours could never attend, so the request cannot be answered
+        Set<Long> unknownRequired = new TreeSet<>(required);
+        attendees.forEach(etz -> unknownRequired.remove(etz.getEmployeeId()));
+        if (!unknownRequired.isEmpty()) {
+            throw new IllegalArgumentException("Unknown required attendees: " + unknownRequired);
+        }
+        BusyCalendar busy = busyBlockService.calendar(attendeeIds, date, date.plusDays(1));
+
+        QuorumSweep sweep = new QuorumSweep();
+        int requiredAttendees = 0;
+        for (EmployeeTimeZone etz : attendees) {
+            boolean isRequired = required.contains(etz.getEmployeeId());
+            if (isRequired) {
+                requiredAttendees++;
+            }
+            sweep.addAvailability(availabilityEngine.availableBits(etz, date, busy), isRequired);
+        }
 
-            for (ZonedDateTime slot : overlappingSlots) {
-                int score = calculateSlotScore(slot);
-                slotScores.merge(slot, score, Integer::sum);
+        long origin = AvailabilityEngine.frameOrigin(date);
+        List<QuorumSweep.Window> windows = sweep.windows(requiredAttendees, minOptional);
+        List<QuorumSlot> slots = new ArrayList<>();
+        for (QuorumSweep.Window window : windows) {
+            for (int minute = window.start(); minute < window.end(); minute += SLOT_MINUTES) {
+                slots.add(new QuorumSlot(toUtc(origin + minute), window.attendeesAt(minute)));
             }
         }
 
-        return slotScores.entrySet().stream()
-                .max(Map.Entry.comparingByValue())
-                .map(Map.Entry::getKey)
+        // Best windows have the most attendees throughout, then the longest duration
+        List<QuorumWindow> bestWindows = windows.stream()
+                .sorted(Comparator.comparingInt(QuorumSweep.Window::minAttendees)
+                        .thenComparingInt(window -> window.end() - window.start())
+                        .reversed())
+                .limit(limit)
+                .map(window -> new QuorumWindow(toUtc(origin + window.start()), toUtc(origin + window.end()),
+                        window.minAttendees(), window.maxAttendees()))
+                .toList();
+
+        return new QuorumResult(attendees.size(), requiredAttendees, slots, bestWindows);
+    }
+
+    private static ZonedDateTime toUtc(long epochMinute) {
+        return ZonedDateTime.ofInstant(Instant.ofEpochSecond(epochMinute * 60), ZoneOffset.UTC);
+    }
+
+    public ZonedDateTime suggestBestMeetingTime(List<Long> employeeIds, LocalDate startDate, int daysToCheck) {
+        return suggestMeetingTimes(employeeIds, startDate, daysToCheck, 1).stream()
+                .findFirst()
+                .map(MeetingSuggestion::startTime)
                 .orElseThrow(() -> new IllegalStateException("No suitable meeting time found"));
     }
 
-    private int calculateSlotScore(ZonedDateTime slot) {
+    public List<MeetingSuggestion> suggestMeetingTimes(List<Long> employeeIds, LocalDate startDate, int daysToCheck, int limit) {
+        if (daysToCheck < 1 || daysToCheck > MAX_HORIZON_DAYS) {
+            throw new IllegalArgumentException("daysToCheck must be between 1 and " + MAX_HORIZON_DAYS);
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be at least 1");
+        }
+        List<EmployeeTimeZone> employeeTimeZones = cache.findAllById(employeeIds);
+        if (employeeTimeZones.isEmpty()) {
+            throw new IllegalStateException("No working hours found");
+        }
+
+        BusyCalendar busy = busyBlockService.calendar(employeeIds, startDate, startDate.plusDays(daysToCheck));
+
+        // Every day fills its own bounded heap in parallel, then the day heaps are merged into one
+        List<PriorityQueue<ScoredSlot>> dailyBest = IntStream.range(0, daysToCheck).parallel()
+                .mapToObj(i -> bestSlotsOfDay(employeeTimeZones, startDate.plusDays(i), busy, limit))
+                .toList();
+
+        PriorityQueue<ScoredSlot> best = new PriorityQueue<>(limit + 1, WORST_SLOT_FIRST);
+        for (PriorityQueue<ScoredSlot> day : dailyBest) {
+            for (ScoredSlot slot : day) {
+                offerBounded(best, slot, limit);
+            }
+        }
+
+        return best.stream()
+                .sorted(WORST_SLOT_FIRST.reversed())
+                .map(ScoredSlot::toSuggestion)
+                .toList();
+    }
+
+    private PriorityQueue<ScoredSlot> bestSlotsOfDay(List<EmployeeTimeZone> employeeTimeZones, LocalDate date,
+                                                     BusyCalendar busy, int limit) {
+        PriorityQueue<ScoredSlot> heap = new PriorityQueue<>(limit + 1, WORST_SLOT_FIRST);
+        AvailabilityEngine.Overlap overlap = availabilityEngine.overlap(employeeTimeZones, date, busy);
+        overlap.forEachSlot(SLOT_MINUTES, epochMinute -> offerBounded(heap, scoreSlot(overlap.zone(), epochMinute), limit));
+        return heap;
+    }
+
+    // Days are only evaluated as the stream is pulled, so the search stops at the first page of matches; busy blocks
+    // are loaded a week at a time, so even a sparse search over the whole horizon costs one query per week
+    public SlotPage searchSlots(List<Long> employeeIds, LocalDate startDate, int horizonDays, int minScore,
+                                int pageSize, String cursor) {
+        if (horizonDays < 1 || horizonDays > MAX_HORIZON_DAYS) {
+            throw new IllegalArgumentException("horizonDays must be between 1 and " + MAX_HORIZON_DAYS);
+        }
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("pageSize must be at least 1");
+        }
+        List<EmployeeTimeZone> employeeTimeZones = cache.findAllById(employeeIds);
+        if (employeeTimeZones.isEmpty()) {
+            throw new IllegalStateException("No working hours found");
+        }
+
+        SlotCursor resumeFrom = cursor == null ? new SlotCursor(startDate, Long.MIN_VALUE) : SlotCursor.decode(cursor);
+        LocalDate endDate = startDate.plusDays(horizonDays);
+        List<DatedSlot> found = Stream.iterate(resumeFrom.date(), week -> week.isBefore(endDate),
+                        week -> week.plusDays(BUSY_CHUNK_DAYS))
+                .flatMap(week -> {
+                    LocalDate weekEnd = week.plusDays(BUSY_CHUNK_DAYS).isBefore(endDate)
+                            ? week.plusDays(BUSY_CHUNK_DAYS) : endDate;
+                    BusyCalendar busy = busyBlockService.calendar(employeeIds, week, weekEnd);
+                    return week.datesUntil(weekEnd).flatMap(date ->
+                            scoredSlotsOfDay(employeeTimeZones, date, busy).stream()
+                                    .filter(slot -> !date.equals(resumeFrom.date())
+                                            || slot.epochMinute() > resumeFrom.afterMinute())
+                                    .map(slot -> new DatedSlot(date, slot)));
+                })
+                .filter(dated -> dated.slot().score() >= minScore)
+                .limit(pageSize + 1L)
+                .toList();
+
+        List<DatedSlot> page = found.subList(0, Math.min(pageSize, found.size()));
+        String nextCursor = null;
+        if (found.size() > pageSize) {
+            DatedSlot last = page.get(page.size() - 1);
+            nextCursor = new SlotCursor(last.date(), last.slot().epochMinute()).encode();
+        }
+        return new SlotPage(page.stream().map(dated -> dated.slot().toSuggestion()).toList(), nextCursor);
+    }
+
+    private List<ScoredSlot> scoredSlotsOfDay(List<EmployeeTimeZone> employeeTimeZones, LocalDate date,
+                                              BusyCalendar busy) {
+        List<ScoredSlot> slots = new ArrayList<>();
+        AvailabilityEngine.Overlap overlap = availabilityEngine.overlap(employeeTimeZones, date, busy);
+        overlap.forEachSlot(SLOT_MINUTES, epochMinute -> slots.add(scoreSlot(overlap.zone(), epochMinute)));
+        return slots;
+    }
+
+    private static ScoredSlot scoreSlot(ZoneCache.CompiledZone zone, long epochMinute) {
+        int offsetMinutes = zone.offsetSecondsAt(epochMinute * 60) / 60;
+        int score = SLOT_SCORES[minuteOfWeek(epochMinute + offsetMinutes)];
+        return new ScoredSlot(epochMinute, score, zone.zoneId());
+    }
+
+    private static void offerBounded(PriorityQueue<ScoredSlot> heap, ScoredSlot slot, int limit) {
+        if (heap.size() < limit) {
+            heap.add(slot);
+        } else if (WORST_SLOT_FIRST.compare(slot, heap.peek()) > 0) {
+            heap.poll();
+            heap.add(slot);
+        }
+    }
+
+    // Minute of the ISO week (Monday 00:00 = 0) for a local epoch minute; epoch day 0 was a Thursday
+    private static int minuteOfWeek(long localEpochMinute) {
+        long day = Math.floorDiv(localEpochMinute, MINUTES_PER_DAY);
+        return (int) (Math.floorMod(day + 3, 7) * MINUTES_PER_DAY + Math.floorMod(localEpochMinute, MINUTES_PER_DAY));
+    }
+
+    private static int[] buildSlotScores() {
+        int[] scores = new int[7 * MINUTES_PER_DAY];
+        for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+            for (int minute = 0; minute < MINUTES_PER_DAY; minute++) {
+                scores[(dayOfWeek.getValue() - 1) * MINUTES_PER_DAY + minute] =
+                        calculateSlotScore(dayOfWeek, LocalTime.ofSecondOfDay(minute * 60L));
+            }
+        }
+        return scores;
+    }
+
+    private static int calculateSlotScore(DayOfWeek dayOfWeek, LocalTime slotTime) {
         int score = 10; // Base score
 
         // Prefer times closer to the middle of the working day
-        LocalTime slotTime = slot.toLocalTime();
         LocalTime midDay = LocalTime.of(12, 0);
         long minutesFromMidDay = Math.abs(Duration.between(slotTime, midDay).toMinutes());
         score -= minutesFromMidDay / 30; // Decrease score by 1 for every 30 minutes away from midday
@@ -113,7 +506,6 @@ public class TimeZoneService {
         }
 
         // Prefer monday, Tuesday, Wednesday, Thursday,friday
-        DayOfWeek dayOfWeek = slot.getDayOfWeek();
         if (dayOfWeek == DayOfWeek.MONDAY ||dayOfWeek == DayOfWeek.TUESDAY || dayOfWeek == DayOfWeek.WEDNESDAY || dayOfWeek == DayOfWeek.THURSDAY || dayOfWeek == DayOfWeek.FRIDAY) {
             score += 3;
         }
@@ -121,6 +513,52 @@ public class TimeZoneService {
         return Math.max(score, 0); // Ensure score is not negative
     }
 
+    private record WorkingWindow(ZoneCache.CompiledZone zone, long startNanoOfDay, long endNanoOfDay) {
+        // The meeting must start after the working day starts and end by the time it ends, on the same local day
+        boolean covers(long epochSecond, int nano, long durationNanos) {
+            long localSecond = zone.toLocalEpochSecond(epochSecond);
+            long dayStart = Math.floorDiv(localSecond, SECONDS_PER_DAY) * SECONDS_PER_DAY;
+            long startNanos = (localSecond - dayStart) * NANOS_PER_SECOND + nano;
+            if (startNanos <= startNanoOfDay || startNanos >= endNanoOfDay) {
+                return false;
+            }
+            if (durationNanos == 0) {
+                return true;
+            }
+            long endEpochSecond = epochSecond + Math.floorDiv(nano + durationNanos, NANOS_PER_SECOND);
+            long endNano = Math.floorMod(nano + durationNanos, NANOS_PER_SECOND);
+            long endNanos = (zone.toLocalEpochSecond(endEpochSecond) - dayStart) * NANOS_PER_SECOND + endNano;
+            return endNanos <= endNanoOfDay;
+        }
+    }
+
+    private record DatedSlot(LocalDate date, ScoredSlot slot) {
+    }
+
+    // Opaque continuation token: the local date being searched and the last slot already returned from it
+    private record SlotCursor(LocalDate date, long afterMinute) {
+        String encode() {
+            String raw = date + ":" + afterMinute;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static SlotCursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.indexOf(':');
+                return new SlotCursor(LocalDate.parse(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+            }
+        }
+    }
+
+    private record ScoredSlot(long epochMinute, int score, ZoneId zone) {
+        MeetingSuggestion toSuggestion() {
+            return new MeetingSuggestion(ZonedDateTime.ofInstant(Instant.ofEpochSecond(epochMinute * 60), zone), score);
+        }
+    }
+
     public Duration calculateFreeHours(EmployeeTimeZone etz) {
         LocalTime workEnd = etz.getWorkingHoursEnd();
         LocalTime nextDayWorkStart = etz.getWorkingHoursStart();
@@ -134,41 +572,50 @@ public class TimeZoneService {
     }
 
     public Map<String, Duration> getTeamFreeHoursOverlap(List<Long> employeeIds) {
-        List<EmployeeTimeZone> teamMembers = repository.findAllById(employeeIds);
-        Map<String, Duration> overlapMap = new HashMap<>();
+        return getTeamFreeHoursOverlap(employeeIds, LocalDate.now());
+    }
 
-        for (int i = 0; i < teamMembers.size(); i++) {
-            for (int j = i + 1; j < teamMembers.size(); j++) {
-                EmployeeTimeZone member1 = teamMembers.get(i);
-                EmployeeTimeZone member2 = teamMembers.get(j);
+    public Map<String, Duration> getTeamFreeHoursOverlap(List<Long> employeeIds, LocalDate today) {
+        FreeHoursSweep sweep = buildFreeHoursSweep(employeeIds, today);
+        long[] ids = sweep.employeeIds();
+        int[][] matrix = sweep.toMatrix();
+        Map<String, Duration> overlapMap = new HashMap<>();
 
-                Duration overlap = calculateFreeHoursOverlap(member1, member2);
-                String key = member1.getEmployeeId() + " & " + member2.getEmployeeId();
-                overlapMap.put(key, overlap);
+        for (int i = 0; i < ids.length; i++) {
+            for (int j = i + 1; j < ids.length; j++) {
+                String key = ids[i] + " & " + ids[j];
+                overlapMap.put(key, Duration.ofSeconds(matrix[i][j]));
             }
         }
 
         return overlapMap;
     }
 
-    private Duration calculateFreeHoursOverlap(EmployeeTimeZone etz1, EmployeeTimeZone etz2) {
-        LocalDateTime start1 = LocalDateTime.of(LocalDate.now(), etz1.getWorkingHoursEnd());
-        LocalDateTime end1 = LocalDateTime.of(LocalDate.now().plusDays(1), etz1.getWorkingHoursStart());
-        LocalDateTime start2 = LocalDateTime.of(LocalDate.now(), etz2.getWorkingHoursEnd());
-        LocalDateTime end2 = LocalDateTime.of(LocalDate.now().plusDays(1), etz2.getWorkingHoursStart());
-
-        ZonedDateTime zonedStart1 = ZonedDateTime.of(start1, ZoneId.of(etz1.getTimeZone()));
-        ZonedDateTime zonedEnd1 = ZonedDateTime.of(end1, ZoneId.of(etz1.getTimeZone()));
-        ZonedDateTime zonedStart2 = ZonedDateTime.of(start2, ZoneId.of(etz2.getTimeZone()));
-        ZonedDateTime zonedEnd2 = ZonedDateTime.of(end2, ZoneId.of(etz2.getTimeZone()));
+    public FreeHoursOverlapMatrix getTeamFreeHoursOverlapMatrix(List<Long> employeeIds) {
+        FreeHoursSweep sweep = buildFreeHoursSweep(employeeIds);
+        return new FreeHoursOverlapMatrix(sweep.employeeIds(), sweep.toMatrix());
+    }
 
-        ZonedDateTime overlapStart = zonedStart1.isAfter(zonedStart2) ? zonedStart1 : zonedStart2;
-        ZonedDateTime overlapEnd = zonedEnd1.isBefore(zonedEnd2) ? zonedEnd1 : zonedEnd2;
+    public FreeHoursSweep buildFreeHoursSweep(List<Long> employeeIds) {
+        return buildFreeHoursSweep(employeeIds, LocalDate.now());
+    }
 
-        if (overlapStart.isBefore(overlapEnd)) {
-            return Duration.between(overlapStart, overlapEnd);
-        } else {
-            return Duration.ZERO;
+    // Free time runs from today's end of work to tomorrow's start of work in each member's zone
+    public FreeHoursSweep buildFreeHoursSweep(List<Long> employeeIds, LocalDate today) {
+        List<EmployeeTimeZone> teamMembers = cache.findAllById(employeeIds);
+        LocalDate tomorrow = today.plusDays(1);
+
+        int size = teamMembers.size();
+        long[] ids = new long[size];
+        long[] starts = new long[size];
+        long[] ends = new long[size];
+        for (int i = 0; i < size; i++) {
+            EmployeeTimeZone etz = teamMembers.get(i);
+            ZoneCache.CompiledZone zone = zoneCache.zone(etz.getTimeZone());
+            ids[i] = etz.getEmployeeId();
+            starts[i] = zone.toEpochSecond(today, etz.getWorkingHoursEnd());
+            ends[i] = zone.toEpochSecond(tomorrow, etz.getWorkingHoursStart());
         }
+        return new FreeHoursSweep(ids, starts, ends);
     }
-}
\ No newline at end of file
+}
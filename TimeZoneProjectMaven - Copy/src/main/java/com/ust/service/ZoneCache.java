@@ -0,0 +1,163 @@
+package com.ust.service;
+
+import com.ust.dto.ZoneCacheStats;
+import org.springframework.stereotype.Component;
+
+import java.time.*;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Interns zones and precompiles their UTC offset segments over a rolling horizon into flat arrays,
+ * so local/UTC conversions are a binary search instead of a walk through {@link ZoneRules}.
+ */
+@Component
+public class ZoneCache {
+    private static final long SECONDS_PER_DAY = 24 * 60 * 60;
+    private static final long HORIZON_BEHIND = 366 * SECONDS_PER_DAY;
+    private static final long HORIZON_AHEAD = 2 * 366 * SECONDS_PER_DAY;
+    // Recompile once less than a year of the horizon is left ahead of now
+    private static final long MIN_REMAINING_AHEAD = 366 * SECONDS_PER_DAY;
+
+    private final Map<String, CompiledZone> zones = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder horizonFallbacks = new LongAdder();
+
+    public CompiledZone zone(String timeZone) {
+        long now = System.currentTimeMillis() / 1000;
+        CompiledZone zone = zones.get(timeZone);
+        if (zone != null && zone.horizonEnd - now >= MIN_REMAINING_AHEAD) {
+            hits.increment();
+            return zone;
+        }
+        misses.increment();
+        return zones.compute(timeZone, (id, existing) ->
+                existing != null && existing.horizonEnd - now >= MIN_REMAINING_AHEAD
+                        ? existing
+                        : compile(existing != null ? existing.zoneId : ZoneId.of(id), now));
+    }
+
+    public ZoneId zoneId(String timeZone) {
+        return zone(timeZone).zoneId();
+    }
+
+    public ZoneCacheStats stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long lookups = hitCount + missCount;
+        long transitions = 0;
+        long bytes = 0;
+        for (CompiledZone zone : zones.values()) {
+            transitions += zone.transitions.length;
+            // Object headers and fields plus the two arrays
+            bytes += 64 + 16 + zone.transitions.length * 8L + 16 + zone.offsets.length * 4L;
+        }
+        return new ZoneCacheStats(zones.size(), hitCount, missCount,
+                lookups == 0 ? 0.0 : (double) hitCount / lookups,
+                horizonFallbacks.sum(), transitions, bytes);
+    }
+
+    private CompiledZone compile(ZoneId zoneId, long now) {
+        long horizonStart = now - HORIZON_BEHIND;
+        long horizonEnd = now + HORIZON_AHEAD;
+        ZoneRules rules = zoneId.getRules();
+
+        long[] transitions = new long[0];
+        int[] offsets = {rules.getOffset(Instant.ofEpochSecond(horizonStart)).getTotalSeconds()};
+        if (!rules.isFixedOffset()) {
+            int count = 0;
+            ZoneOffsetTransition transition = rules.nextTransition(Instant.ofEpochSecond(horizonStart));
+            transitions = new long[8];
+            offsets = Arrays.copyOf(offsets, 9);
+            while (transition != null && transition.toEpochSecond() < horizonEnd) {
+                if (count == transitions.length) {
+                    transitions = Arrays.copyOf(transitions, count * 2);
+                    offsets = Arrays.copyOf(offsets, count * 2 + 1);
+                }
+                transitions[count] = transition.toEpochSecond();
+                offsets[++count] = transition.getOffsetAfter().getTotalSeconds();
+                transition = rules.nextTransition(transition.getInstant());
+            }
+            transitions = Arrays.copyOf(transitions, count);
+            offsets = Arrays.copyOf(offsets, count + 1);
+        }
+        return new CompiledZone(zoneId, horizonStart, horizonEnd, transitions, offsets, horizonFallbacks);
+    }
+
+    public static final class CompiledZone {
+        private final ZoneId zoneId;
+        private final long horizonStart;
+        private final long horizonEnd;
+        // offsets[i] applies from transitions[i - 1] (inclusive) up to transitions[i]
+        private final long[] transitions;
+        private final int[] offsets;
+        private final LongAdder horizonFallbacks;
+
+        private CompiledZone(ZoneId zoneId, long horizonStart, long horizonEnd, long[] transitions, int[] offsets,
+                             LongAdder horizonFallbacks) {
+            this.zoneId = zoneId;
+            this.horizonStart = horizonStart;
+            this.horizonEnd = horizonEnd;
+            this.transitions = transitions;
+            this.offsets = offsets;
+            this.horizonFallbacks = horizonFallbacks;
+        }
+
+        public ZoneId zoneId() {
+            return zoneId;
+        }
+
+        public int offsetSecondsAt(long epochSecond) {
+            if (epochSecond < horizonStart || epochSecond >= horizonEnd) {
+                horizonFallbacks.increment();
+                return zoneId.getRules().getOffset(Instant.ofEpochSecond(epochSecond)).getTotalSeconds();
+            }
+            int index = Arrays.binarySearch(transitions, epochSecond);
+            return offsets[index >= 0 ? index + 1 : -index - 1];
+        }
+
+        // Offsets of ascending instants in a single merge pass over the transitions instead of a search per instant
+        public int[] offsetsSecondsAt(long[] ascendingEpochSeconds) {
+            int[] result = new int[ascendingEpochSeconds.length];
+            int transition = 0;
+            for (int i = 0; i < ascendingEpochSeconds.length; i++) {
+                long epochSecond = ascendingEpochSeconds[i];
+                if (epochSecond < horizonStart || epochSecond >= horizonEnd) {
+                    result[i] = offsetSecondsAt(epochSecond);
+                    continue;
+                }
+                while (transition < transitions.length && transitions[transition] <= epochSecond) {
+                    transition++;
+                }
+                result[i] = offsets[transition];
+            }
+            return result;
+        }
+
+        public long toLocalEpochSecond(long epochSecond) {
+            return epochSecond + offsetSecondsAt(epochSecond);
+        }
+
+        // Resolves gaps and overlaps the same way ZonedDateTime.of does: earlier offset in an overlap,
+        // shifted forward by the gap length in a gap
+        public long toEpochSecond(LocalDate date, LocalTime time) {
+            long local = date.toEpochDay() * SECONDS_PER_DAY + time.toSecondOfDay();
+            int before = offsetSecondsAt(local - SECONDS_PER_DAY);
+            int after = offsetSecondsAt(local + SECONDS_PER_DAY);
+            long withBefore = local - before;
+            if (before == after) {
+                return withBefore;
+            }
+            long withAfter = local - after;
+            if (offsetSecondsAt(withBefore) != before && offsetSecondsAt(withAfter) == after) {
+                return withAfter;
+            }
+            return withBefore;
+        }
+    }
+}
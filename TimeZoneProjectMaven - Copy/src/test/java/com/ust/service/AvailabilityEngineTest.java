@@ -0,0 +1,92 @@
+package com.ust.service;
+
+import com.ust.model.EmployeeTimeZone;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AvailabilityEngineTest {
+
+    private final AvailabilityEngine engine = new AvailabilityEngine(new ZoneCache(), new HolidayCalendarIndex(), 2, 366);
+
+    @Test
+    void overlapMatchesZonedDateTimeAcrossDstChanges() {
+        List<EmployeeTimeZone> team = List.of(
+                employee(1, "America/New_York", "08:00", "17:00"),
+                employee(2, "Europe/London", "09:00", "18:00"),
+                employee(3, "Asia/Kolkata", "12:00", "22:30"));
+        // Ordinary days plus the US and EU spring-forward and fall-back dates
+        for (String day : List.of("2026-01-15", "2026-03-08", "2026-03-09", "2026-03-29", "2026-10-25", "2026-11-01")) {
+            LocalDate date = LocalDate.parse(day);
+            assertThat(slotMinutes(engine.overlap(team, date))).as(day).isEqualTo(bruteForce(team, date));
+        }
+    }
+
+    @Test
+    void employeesWithTheSameScheduleShareCompiledMasks() {
+        LocalDate date = LocalDate.of(2026, 6, 1);
+        engine.dayMask(employee(1, "Europe/Paris", "09:00", "17:00"), date);
+        engine.dayMask(employee(2, "Europe/Paris", "09:00", "17:00"), date);
+        assertThat(engine.cachedSchedules()).isEqualTo(1);
+    }
+
+    @Test
+    void compiledSchedulesAreBounded() {
+        LocalDate date = LocalDate.of(2026, 6, 1);
+        for (int hour = 6; hour < 12; hour++) {
+            engine.dayMask(employee(hour, "Europe/Paris", hour + ":00", "17:00"), date);
+        }
+        assertThat(engine.cachedSchedules()).isEqualTo(2);
+    }
+
+    @Test
+    void callersCannotCorruptTheCachedDay() {
+        EmployeeTimeZone etz = employee(1, "Europe/Paris", "09:00", "17:00");
+        LocalDate date = LocalDate.of(2026, 6, 1);
+        List<Long> expected = bruteForce(List.of(etz), date);
+
+        Arrays.fill(engine.availableBits(etz, date, BusyCalendar.EMPTY), 0L);
+        Arrays.fill(engine.dayMask(etz, date).bits(), -1L);
+
+        assertThat(slotMinutes(engine.overlap(List.of(etz), date))).isEqualTo(expected);
+        assertThat(MinuteBits.isEmpty(engine.availableBits(etz, date, BusyCalendar.EMPTY))).isFalse();
+    }
+
+    private static List<Long> slotMinutes(AvailabilityEngine.Overlap overlap) {
+        List<Long> minutes = new ArrayList<>();
+        overlap.forEachSlot(1, minutes::add);
+        return minutes;
+    }
+
+    // Every UTC minute of the frame that falls inside everyone's local working window on that date
+    private static List<Long> bruteForce(List<EmployeeTimeZone> team, LocalDate date) {
+        long origin = AvailabilityEngine.frameOrigin(date);
+        List<Long> minutes = new ArrayList<>();
+        for (long minute = origin; minute < origin + AvailabilityEngine.FRAME_MINUTES; minute++) {
+            boolean everyone = true;
+            for (EmployeeTimeZone etz : team) {
+                ZoneId zone = ZoneId.of(etz.getTimeZone());
+                long from = ZonedDateTime.of(date, etz.getWorkingHoursStart(), zone).toEpochSecond() / 60;
+                long to = ZonedDateTime.of(date, etz.getWorkingHoursEnd(), zone).toEpochSecond() / 60;
+                everyone &= minute >= from && minute < to;
+            }
+            if (everyone) {
+                minutes.add(minute);
+            }
+        }
+        return minutes;
+    }
+
+    private static EmployeeTimeZone employee(long id, String zone, String start, String end) {
+        return new EmployeeTimeZone(id, zone, LocalTime.parse(start.length() == 4 ? "0" + start : start),
+                LocalTime.parse(end));
+    }
+}
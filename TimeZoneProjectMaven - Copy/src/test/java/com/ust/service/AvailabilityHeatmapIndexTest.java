@@ -0,0 +1,92 @@
+package com.ust.service;
+
+import com.ust.dto.AvailabilityHeatmap;
+import com.ust.model.EmployeeTimeZone;
+import com.ust.repo.EmployeeTimeZoneRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class AvailabilityHeatmapIndexTest {
+
+    private static final List<String> ZONES = List.of("America/Los_Angeles", "Europe/London", "Asia/Kolkata",
+            "Pacific/Chatham", "Pacific/Kiritimati", "UTC");
+    private static final int MINUTES_PER_WEEK = AvailabilityHeatmapIndex.HOURS_PER_WEEK * 60;
+
+    @Test
+    void incrementalUpdatesMatchARecountOfTheCurrentRows() {
+        AvailabilityHeatmapIndex index = new AvailabilityHeatmapIndex(mock(EmployeeTimeZoneRepository.class), new ZoneCache());
+        Map<Long, EmployeeTimeZone> current = new HashMap<>();
+        Random random = new Random(5);
+        for (int step = 0; step < 2000; step++) {
+            long id = 1 + random.nextInt(60);
+            if (random.nextInt(4) == 0) {
+                index.remove(id);
+                current.remove(id);
+            } else {
+                // Includes overnight and empty shifts, which the heatmap leaves out
+                EmployeeTimeZone etz = new EmployeeTimeZone(id, ZONES.get(random.nextInt(ZONES.size())),
+                        LocalTime.of(random.nextInt(24), random.nextInt(4) * 15), LocalTime.of(random.nextInt(24), 30));
+                index.update(etz);
+                current.put(id, etz);
+            }
+        }
+
+        AvailabilityHeatmap heatmap = index.snapshot(true);
+
+        Map<String, int[]> expectedByZone = new TreeMap<>();
+        int[] expected = new int[AvailabilityHeatmapIndex.HOURS_PER_WEEK];
+        for (EmployeeTimeZone etz : current.values()) {
+            int[] zoneCounts = expectedByZone.computeIfAbsent(etz.getTimeZone(), zone -> new int[expected.length]);
+            for (int hour = 0; hour < expected.length; hour++) {
+                if (workingAt(etz, hour)) {
+                    expected[hour]++;
+                    zoneCounts[hour]++;
+                }
+            }
+        }
+        expectedByZone.values().removeIf(counts -> Arrays.stream(counts).allMatch(count -> count == 0));
+        assertThat(heatmap.onlineByHourOfWeek()).isEqualTo(expected);
+        assertThat(heatmap.byTimeZone()).containsOnlyKeys(expectedByZone.keySet());
+        expectedByZone.forEach((zone, counts) -> assertThat(heatmap.byTimeZone().get(zone)).as(zone).isEqualTo(counts));
+    }
+
+    @Test
+    void heatmapAgreesWithOverlapOnEveryDayOfTheWeek() {
+        AvailabilityHeatmapIndex index = new AvailabilityHeatmapIndex(mock(EmployeeTimeZoneRepository.class), new ZoneCache());
+        EmployeeTimeZone etz = new EmployeeTimeZone(1L, "UTC", LocalTime.of(9, 0), LocalTime.of(17, 0));
+        index.update(etz);
+        AvailabilityEngine engine = new AvailabilityEngine(new ZoneCache(), new HolidayCalendarIndex(), 16, 366);
+        int[] online = index.snapshot(false).onlineByHourOfWeek();
+
+        LocalDate monday = LocalDate.of(2026, 6, 1);
+        for (int day = 0; day < 7; day++) {
+            LocalDate date = monday.plusDays(day);
+            long[] bits = engine.availableBits(etz, date, BusyCalendar.EMPTY);
+            for (int hour = 0; hour < 24; hour++) {
+                // Frame minute of this UTC hour: the frame starts at midnight of the day before
+                int minute = (24 + hour) * 60;
+                boolean available = (bits[minute >>> 6] & (1L << minute)) != 0;
+                assertThat(online[day * 24 + hour] == 1).as("%s %02d:00", date.getDayOfWeek(), hour).isEqualTo(available);
+            }
+        }
+    }
+
+    // Whether the local time at the start of this UTC hour of the week falls on a working day inside working hours
+    private static boolean workingAt(EmployeeTimeZone etz, int hourOfWeek) {
+        int offsetMinutes = ZoneId.of(etz.getTimeZone()).getRules().getOffset(Instant.now()).getTotalSeconds() / 60;
+        int localMinute = Math.floorMod(hourOfWeek * 60 + offsetMinutes, MINUTES_PER_WEEK);
+        int minuteOfDay = localMinute % (24 * 60);
+        return HolidayCalendarIndex.WORKING_DAYS.contains(DayOfWeek.of(localMinute / (24 * 60) + 1))
+                && minuteOfDay >= etz.getWorkingHoursStart().toSecondOfDay() / 60
+                && minuteOfDay < etz.getWorkingHoursEnd().toSecondOfDay() / 60;
+    }
+}
@@ -0,0 +1,50 @@
+package com.ust.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BusyCalendarTest {
+
+    @Test
+    void masksMatchPerMinuteMembership() {
+        Random random = new Random(9);
+        long frameOrigin = 29_000_000L;
+        int span = AvailabilityEngine.FRAME_MINUTES * 2;
+        for (int round = 0; round < 100; round++) {
+            BusyCalendar.Builder builder = new BusyCalendar.Builder();
+            boolean[][] busy = new boolean[3][span];
+            for (int employee = 0; employee < 3; employee++) {
+                // Start-sorted blocks, some overlapping or touching, some reaching outside the frame
+                long start = frameOrigin - AvailabilityEngine.FRAME_MINUTES / 2 + random.nextInt(120);
+                for (int blocks = random.nextInt(30); blocks > 0; blocks--) {
+                    long end = start + 1 + random.nextInt(300);
+                    builder.add((long) employee, start, end);
+                    for (long minute = start; minute < end && minute - frameOrigin + span / 2 < span; minute++) {
+                        busy[employee][(int) (minute - frameOrigin + span / 2)] = true;
+                    }
+                    start += random.nextInt(400);
+                }
+            }
+            BusyCalendar calendar = builder.build();
+
+            for (int employee = 0; employee < 3; employee++) {
+                long[] expected = new long[AvailabilityEngine.FRAME_WORDS];
+                for (int minute = 0; minute < AvailabilityEngine.FRAME_MINUTES; minute++) {
+                    if (busy[employee][minute + span / 2]) {
+                        expected[minute >>> 6] |= 1L << minute;
+                    }
+                }
+                long[] mask = calendar.mask((long) employee, frameOrigin);
+                long[] actual = mask == null ? new long[AvailabilityEngine.FRAME_WORDS] : mask;
+                assertThat(actual).as("round %d employee %d", round, employee).isEqualTo(expected);
+                if (Arrays.stream(expected).allMatch(word -> word == 0)) {
+                    assertThat(mask).isNull();
+                }
+            }
+        }
+    }
+}
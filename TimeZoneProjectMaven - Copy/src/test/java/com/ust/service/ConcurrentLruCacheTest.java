@@ -0,0 +1,79 @@
+package com.ust.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrentLruCacheTest {
+
+    @Test
+    void staysBoundedAndKeepsRecentlyUsedEntries() {
+        ConcurrentLruCache<Integer, String> cache = new ConcurrentLruCache<>(20);
+        for (int key = 0; key < 20; key++) {
+            cache.computeIfAbsent(key, String::valueOf);
+        }
+        for (int key = 100; key < 200; key++) {
+            // Key 0 is read between every insert, so it is never the least recently used
+            assertThat(cache.computeIfAbsent(0, k -> "reloaded")).isEqualTo("0");
+            cache.computeIfAbsent(key, String::valueOf);
+            assertThat(cache.size()).isLessThanOrEqualTo(20);
+        }
+        assertThat(cache.computeIfAbsent(199, k -> "reloaded")).isEqualTo("199");
+    }
+
+    @Test
+    void concurrentCallersShareOneValuePerKey() throws Exception {
+        ConcurrentLruCache<Integer, Object> cache = new ConcurrentLruCache<>(1000);
+        AtomicInteger loads = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<Object>>> results = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                List<Object> seen = new ArrayList<>();
+                for (int key = 0; key < 500; key++) {
+                    seen.add(cache.computeIfAbsent(key, k -> {
+                        loads.incrementAndGet();
+                        return new Object();
+                    }));
+                }
+                return seen;
+            }));
+        }
+        start.countDown();
+        List<Object> first = results.get(0).get(10, TimeUnit.SECONDS);
+        for (Future<List<Object>> result : results) {
+            assertThat(result.get(10, TimeUnit.SECONDS)).containsExactlyElementsOf(first);
+        }
+        pool.shutdown();
+        assertThat(loads).hasValue(500);
+    }
+
+    @Test
+    void evictionCopesWithConcurrentHits() throws Exception {
+        ConcurrentLruCache<Integer, Integer> cache = new ConcurrentLruCache<>(64);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<?>> results = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int seed = t;
+            results.add(pool.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < 100_000; i++) {
+                    int key = random.nextInt(seed % 2 == 0 ? 80 : 1000);
+                    assertThat(cache.computeIfAbsent(key, k -> k)).isEqualTo(key);
+                }
+            }));
+        }
+        for (Future<?> result : results) {
+            result.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+        assertThat(cache.size()).isLessThanOrEqualTo(64 + 8);
+    }
+}
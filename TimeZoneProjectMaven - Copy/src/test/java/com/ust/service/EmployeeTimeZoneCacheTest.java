@@ -0,0 +1,131 @@
+package com.ust.service;
+
+import com.ust.model.EmployeeTimeZone;
+import com.ust.repo.EmployeeTimeZoneRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class EmployeeTimeZoneCacheTest {
+
+    private final EmployeeTimeZoneRepository repository = mock(EmployeeTimeZoneRepository.class);
+
+    @Test
+    void servesHitsFromMemoryAndReloadsAfterInvalidate() {
+        EmployeeTimeZoneCache cache = new EmployeeTimeZoneCache(repository, 10, Duration.ofMinutes(10));
+        when(repository.findById(1L)).thenReturn(Optional.of(employee(1, "Europe/London")));
+
+        cache.findById(1L);
+        cache.findById(1L);
+        verify(repository, times(1)).findById(1L);
+
+        cache.invalidate(1L);
+        when(repository.findById(1L)).thenReturn(Optional.of(employee(1, "Asia/Tokyo")));
+        assertThat(cache.findById(1L)).map(EmployeeTimeZone::getTimeZone).contains("Asia/Tokyo");
+        verify(repository, times(2)).findById(1L);
+    }
+
+    @Test
+    void putReplacesTheCachedRowWithoutTouchingTheRepository() {
+        EmployeeTimeZoneCache cache = new EmployeeTimeZoneCache(repository, 10, Duration.ofMinutes(10));
+        when(repository.findById(1L)).thenReturn(Optional.of(employee(1, "Europe/London")));
+        cache.findById(1L);
+
+        cache.put(employee(1, "America/Chicago"));
+
+        assertThat(cache.findById(1L)).map(EmployeeTimeZone::getTimeZone).contains("America/Chicago");
+        verify(repository, times(1)).findById(1L);
+    }
+
+    @Test
+    void loadThatAWriteOvertookDoesNotReplaceTheWrittenRow() throws Exception {
+        EmployeeTimeZoneCache cache = new EmployeeTimeZoneCache(repository, 10, Duration.ofMinutes(10));
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch written = new CountDownLatch(1);
+        // The database read sees the old rows, then the writes land before the load installs them
+        when(repository.findById(1L)).thenAnswer(call -> {
+            loading.countDown();
+            written.await();
+            return Optional.of(employee(1, "Europe/London"));
+        });
+        when(repository.findAllById(anyCollection())).thenAnswer(call -> {
+            loading.countDown();
+            written.await();
+            return List.of(employee(2, "Europe/London"), employee(3, "Europe/London"));
+        });
+        ExecutorService readers = Executors.newFixedThreadPool(2);
+        try {
+            Future<Optional<EmployeeTimeZone>> single = readers.submit(() -> cache.findById(1L));
+            Future<List<EmployeeTimeZone>> batch = readers.submit(() -> cache.findAllById(List.of(2L, 3L)));
+            loading.await();
+            while (mockingDetails(repository).getInvocations().size() < 2) {
+                Thread.sleep(5);
+            }
+            cache.put(employee(1, "Asia/Tokyo"));
+            cache.put(employee(2, "Asia/Tokyo"));
+            cache.invalidate(3L);
+            written.countDown();
+            single.get(5, TimeUnit.SECONDS);
+            batch.get(5, TimeUnit.SECONDS);
+        } finally {
+            readers.shutdownNow();
+        }
+
+        when(repository.findById(3L)).thenReturn(Optional.empty());
+        assertThat(cache.findById(1L)).map(EmployeeTimeZone::getTimeZone).contains("Asia/Tokyo");
+        assertThat(cache.findAllById(List.of(2L))).extracting(EmployeeTimeZone::getTimeZone).containsExactly("Asia/Tokyo");
+        // The deleted row is not resurrected from the stale load
+        assertThat(cache.findById(3L)).isEmpty();
+    }
+
+    @Test
+    void expiredAndEvictedEntriesAreLoadedAgain() {
+        EmployeeTimeZoneCache expiring = new EmployeeTimeZoneCache(repository, 10, Duration.ZERO);
+        when(repository.findById(anyLong())).thenAnswer(call -> Optional.of(employee(call.getArgument(0), "UTC")));
+        expiring.findById(1L);
+        expiring.findById(1L);
+        assertThat(expiring.stats().expirations()).isEqualTo(1);
+
+        EmployeeTimeZoneCache small = new EmployeeTimeZoneCache(repository, 2, Duration.ofMinutes(10));
+        small.findById(1L);
+        small.findById(2L);
+        small.findById(1L);
+        small.findById(3L);
+        assertThat(small.stats().evictions()).isEqualTo(1);
+        clearInvocations(repository);
+        small.findById(1L);
+        small.findById(2L);
+        // 2 was the least recently used, so only it goes back to the repository
+        verify(repository, never()).findById(1L);
+        verify(repository).findById(2L);
+    }
+
+    @Test
+    void findAllByIdLoadsOnlyMissesInOneQueryAndKeepsRequestOrder() {
+        EmployeeTimeZoneCache cache = new EmployeeTimeZoneCache(repository, 10, Duration.ofMinutes(10));
+        cache.put(employee(2, "UTC"));
+        when(repository.findAllById(anyCollection())).thenReturn(List.of(employee(1, "UTC"), employee(3, "UTC")));
+
+        List<EmployeeTimeZone> found = cache.findAllById(List.of(3L, 2L, 1L, 3L, 4L));
+
+        assertThat(found).extracting(EmployeeTimeZone::getEmployeeId).containsExactly(3L, 2L, 1L);
+        verify(repository).findAllById(List.of(3L, 1L, 4L));
+    }
+
+    private static EmployeeTimeZone employee(long id, String zone) {
+        return new EmployeeTimeZone(id, zone, LocalTime.of(9, 0), LocalTime.of(17, 0));
+    }
+}
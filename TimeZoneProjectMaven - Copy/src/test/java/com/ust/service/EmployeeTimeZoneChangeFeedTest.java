@@ -0,0 +1,137 @@
+package com.ust.service;
+
+import com.ust.dto.EmployeeTimeZoneChange.ChangeType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmployeeTimeZoneChangeFeedTest {
+
+    private final EmployeeTimeZoneChangeFeed feed = new EmployeeTimeZoneChangeFeed(100, Duration.ofMinutes(1));
+
+    @AfterEach
+    void shutdown() {
+        feed.shutdown();
+    }
+
+    @Test
+    void concurrentPublishersReachSubscribersInSequenceOrderWithoutGaps() throws Exception {
+        RecordingEmitter subscriber = new RecordingEmitter();
+        feed.subscribe(null, subscriber);
+
+        int threads = 8;
+        int perThread = 500;
+        ExecutorService publishers = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < threads; t++) {
+            long employeeId = t;
+            publishers.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int i = 0; i < perThread; i++) {
+                    feed.publish(ChangeType.DELETED, employeeId, null);
+                }
+            });
+        }
+        start.countDown();
+        publishers.shutdown();
+        assertThat(publishers.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        List<Long> expected = LongStream.rangeClosed(1, threads * perThread).boxed().toList();
+        awaitEvents(subscriber, expected.size());
+        assertThat(subscriber.ids).isEqualTo(expected);
+    }
+
+    @Test
+    void resumingSubscriberGetsTheBacklogThenLiveEvents() throws Exception {
+        for (long i = 1; i <= 150; i++) {
+            feed.publish(ChangeType.DELETED, i, null);
+        }
+        RecordingEmitter resumed = new RecordingEmitter();
+        feed.subscribe(feed.eventId(120), resumed);
+        RecordingEmitter tooOld = new RecordingEmitter();
+        feed.subscribe(feed.eventId(10), tooOld);
+        // Sequence 10 has left the ring of 100, so the subscriber is told to reload first
+        awaitEvents(tooOld, 1);
+        feed.publish(ChangeType.DELETED, 151L, null);
+
+        awaitEvents(resumed, 31);
+        assertThat(resumed.ids).isEqualTo(LongStream.rangeClosed(121, 151).boxed().toList());
+        assertThat(resumed.names).containsOnly("deleted");
+        awaitEvents(tooOld, 2);
+        assertThat(tooOld.names).containsExactly("reset", "deleted");
+        assertThat(tooOld.ids).containsExactly(150L, 151L);
+    }
+
+    @Test
+    void idsFromAnotherEpochAreNotResumed() throws Exception {
+        // A restarted feed numbers from 1 again, so an old id can name a sequence this epoch also has
+        EmployeeTimeZoneChangeFeed previous = new EmployeeTimeZoneChangeFeed(100, Duration.ofMinutes(1));
+        previous.shutdown();
+        for (long i = 1; i <= 20; i++) {
+            feed.publish(ChangeType.DELETED, i, null);
+        }
+        RecordingEmitter restarted = new RecordingEmitter();
+        feed.subscribe(previous.eventId(5), restarted);
+        RecordingEmitter bareSequence = new RecordingEmitter();
+        feed.subscribe("5", bareSequence);
+
+        awaitEvents(restarted, 1);
+        awaitEvents(bareSequence, 1);
+        assertThat(restarted.names).containsExactly("reset");
+        assertThat(restarted.ids).containsExactly(20L);
+        assertThat(restarted.eventIds).containsExactly(feed.eventId(20));
+        assertThat(bareSequence.names).containsExactly("reset");
+    }
+
+    private static void awaitEvents(RecordingEmitter emitter, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (emitter.ids.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        // Give a wrongly ordered or duplicated event the chance to show up
+        Thread.sleep(50);
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+        private static final Pattern ID = Pattern.compile("id:(\\S+:(\\d+))");
+        private static final Pattern EVENT = Pattern.compile("event:(\\w+)");
+
+        private final List<String> eventIds = new CopyOnWriteArrayList<>();
+        private final List<Long> ids = new CopyOnWriteArrayList<>();
+        private final List<String> names = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            StringBuilder text = new StringBuilder();
+            builder.build().forEach(part -> {
+                if (part.getData() instanceof String fragment) {
+                    text.append(fragment);
+                }
+            });
+            Matcher id = ID.matcher(text);
+            Matcher event = EVENT.matcher(text);
+            if (id.find() && event.find()) {
+                names.add(event.group(1));
+                eventIds.add(id.group(1));
+                ids.add(Long.parseLong(id.group(2)));
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.ust.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ust.dto.ImportError;
+import com.ust.dto.ImportResult;
+import com.ust.model.EmployeeTimeZone;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EmployeeTimeZoneImporterTest {
+
+    private EmployeeTimeZoneImporter importer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        EntityManager entityManager = mock(EntityManager.class);
+        TypedQuery<Long> existing = mock(TypedQuery.class);
+        when(entityManager.createQuery(anyString(), eq(Long.class))).thenReturn(existing);
+        when(existing.setParameter(anyString(), any())).thenReturn(existing);
+        when(existing.getResultList()).thenReturn(List.of());
+        importer = new EmployeeTimeZoneImporter(entityManager, mock(PlatformTransactionManager.class),
+                new ObjectMapper().registerModule(new JavaTimeModule()), new ZoneCache(), 2);
+    }
+
+    @Test
+    void repeatedIdsAreRejectedAcrossBatchesAndEveryRowIsCounted() throws Exception {
+        String csv = """
+                employeeId,timeZone,workingHoursStart,workingHoursEnd
+                1,Europe/London,09:00,17:00
+                1,Europe/Paris,09:00,17:00
+                2,Mars/Olympus,09:00,17:00
+                3,Asia/Tokyo,09:00,17:00
+                4,UTC,08:00,16:00
+                3,UTC,08:00,16:00
+                """;
+        List<EmployeeTimeZone> saved = new ArrayList<>();
+
+        ImportResult result = importer.importRows(new StringReader(csv), true, (rows, existingIds) -> saved.addAll(rows));
+
+        assertThat(result.imported() + result.failed()).isEqualTo(6);
+        assertThat(saved).extracting(EmployeeTimeZone::getEmployeeId).containsExactly(1L, 3L, 4L);
+        assertThat(saved.get(0).getTimeZone()).isEqualTo("Europe/London");
+        assertThat(result.errors()).extracting(ImportError::line).containsExactly(3L, 4L, 7L);
+        assertThat(result.errors().get(0).message()).contains("Duplicate employeeId 1", "line 2");
+    }
+}
@@ -0,0 +1,44 @@
+package com.ust.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FreeHoursSweepTest {
+
+    @Test
+    void matrixMatchesPairwiseComparison() {
+        Random random = new Random(42);
+        for (int round = 0; round < 50; round++) {
+            int n = 1 + random.nextInt(40);
+            long[] ids = new long[n];
+            long[] starts = new long[n];
+            long[] ends = new long[n];
+            for (int i = 0; i < n; i++) {
+                ids[i] = i + 1;
+                starts[i] = random.nextInt(48) * 1800L;
+                // Includes empty intervals, which overlap nothing
+                ends[i] = starts[i] + random.nextInt(20) * 1800L;
+            }
+
+            int[][] matrix = new FreeHoursSweep(ids, starts, ends).toMatrix();
+
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    long expected = i == j ? 0 : Math.max(0, Math.min(ends[i], ends[j]) - Math.max(starts[i], starts[j]));
+                    assertThat(matrix[i][j]).as("round %d pair %d,%d", round, i, j).isEqualTo((int) expected);
+                }
+            }
+        }
+    }
+
+    @Test
+    void minimumOverlapFiltersShortPairs() throws Exception {
+        FreeHoursSweep sweep = new FreeHoursSweep(new long[]{1, 2, 3}, new long[]{0, 3000, 3500}, new long[]{3600, 7200, 3700});
+        StringBuilder pairs = new StringBuilder();
+        sweep.forEachOverlap(600, (first, second, seconds) -> pairs.append(first).append(second).append(':').append(seconds).append(' '));
+        assertThat(pairs.toString().trim()).isEqualTo("01:600");
+    }
+}
@@ -0,0 +1,63 @@
+package com.ust.service;
+
+import com.ust.dto.HolidayCalendar;
+import com.ust.repo.HolidayRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class HolidayCalendarIndexTest {
+
+    private final HolidayCalendarIndex index = new HolidayCalendarIndex();
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void uploadsAccumulateLikeASetOfDates() {
+        Random random = new Random(13);
+        Set<LocalDate> expected = new TreeSet<>();
+        for (int upload = 0; upload < 20; upload++) {
+            List<LocalDate> dates = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                dates.add(LocalDate.of(2023 + random.nextInt(4), 1, 1).plusDays(random.nextInt(366)));
+            }
+            index.add("Europe/Paris", dates);
+            expected.addAll(dates);
+        }
+
+        for (int year = 2022; year <= 2028; year++) {
+            int y = year;
+            assertThat(index.holidays("Europe/Paris", year)).as("%d", year)
+                    .containsExactlyElementsOf(expected.stream().filter(date -> date.getYear() == y).toList());
+        }
+        for (LocalDate date = LocalDate.of(2023, 1, 1); date.getYear() < 2028; date = date.plusDays(1)) {
+            assertThat(index.isHoliday("Europe/Paris", date)).as("%s", date).isEqualTo(expected.contains(date));
+            assertThat(index.isHoliday("Asia/Tokyo", date)).isFalse();
+        }
+    }
+
+    @Test
+    void uploadReachesTheIndexOnlyAfterCommit() {
+        HolidayService service = new HolidayService(mock(HolidayRepository.class), index, new ZoneCache());
+        LocalDate bastilleDay = LocalDate.of(2026, 7, 14);
+        TransactionSynchronizationManager.initSynchronization();
+
+        service.uploadHolidays(List.of(new HolidayCalendar("Europe/Paris", List.of(bastilleDay))));
+
+        assertThat(index.isHoliday("Europe/Paris", bastilleDay)).isFalse();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(index.isHoliday("Europe/Paris", bastilleDay)).isTrue();
+    }
+}
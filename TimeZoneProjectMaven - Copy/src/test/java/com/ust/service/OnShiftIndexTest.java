@@ -0,0 +1,92 @@
+package com.ust.service;
+
+import com.ust.dto.OnShift;
+import com.ust.model.EmployeeTimeZone;
+import com.ust.repo.EmployeeTimeZoneRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.*;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OnShiftIndexTest {
+
+    private static final List<String> ZONES = List.of("America/Los_Angeles", "America/St_Johns", "Europe/London",
+            "Asia/Kolkata", "Asia/Kathmandu", "Australia/Lord_Howe", "Pacific/Chatham", "UTC");
+
+    private final HolidayCalendarIndex holidays = new HolidayCalendarIndex();
+
+    @Test
+    void onShiftMatchesWorkingHoursOfEveryLocalDay() {
+        Random random = new Random(17);
+        Map<Long, EmployeeTimeZone> rows = new HashMap<>();
+        for (long id = 1; id <= 300; id++) {
+            rows.put(id, employee(id, random));
+        }
+        // Today and tomorrow are holidays in London, wherever the test runs
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        holidays.add("Europe/London", List.of(today, today.plusDays(1)));
+        EmployeeTimeZoneRepository repository = mock(EmployeeTimeZoneRepository.class);
+        when(repository.findAll()).thenReturn(new ArrayList<>(rows.values()));
+        OnShiftIndex index = new OnShiftIndex(repository, new ZoneCache(), holidays);
+        index.load();
+
+        // Writes after the load go through the incremental path
+        for (long id = 250; id <= 330; id++) {
+            if (id % 3 == 0) {
+                index.remove(id);
+                rows.remove(id);
+            } else {
+                EmployeeTimeZone etz = employee(id, random);
+                index.update(etz);
+                rows.put(id, etz);
+            }
+        }
+
+        Instant now = Instant.now();
+        for (int minutes = 1; minutes < 23 * 60; minutes += 37) {
+            Instant at = now.plus(Duration.ofMinutes(minutes));
+            OnShift onShift = index.onShift(at);
+            assertThat(onShift.employeeIds()).as("%s", at).containsExactly(bruteForce(rows.values(), at));
+            assertThat(onShift.onShift()).isEqualTo(onShift.employeeIds().length);
+        }
+    }
+
+    @Test
+    void instantsOutsideTheNextDayAreRejected() {
+        OnShiftIndex index = new OnShiftIndex(mock(EmployeeTimeZoneRepository.class), new ZoneCache(), holidays);
+        index.load();
+        for (Instant at : List.of(Instant.now().minus(Duration.ofMinutes(5)), Instant.now().plus(Duration.ofHours(25)))) {
+            assertThatThrownBy(() -> index.onShift(at)).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    private static EmployeeTimeZone employee(long id, Random random) {
+        // Includes overnight and empty shifts, which are never on
+        LocalTime start = LocalTime.of(random.nextInt(24), random.nextInt(4) * 15);
+        return new EmployeeTimeZone(id, ZONES.get(random.nextInt(ZONES.size())), start,
+                start.plusMinutes(random.nextInt(14 * 4) * 15L));
+    }
+
+    private long[] bruteForce(Collection<EmployeeTimeZone> rows, Instant at) {
+        long minute = Math.floorDiv(at.getEpochSecond(), 60);
+        List<Long> ids = new ArrayList<>();
+        for (EmployeeTimeZone etz : rows) {
+            ZoneId zone = ZoneId.of(etz.getTimeZone());
+            LocalDate localDate = at.atZone(zone).toLocalDate();
+            for (LocalDate date = localDate.minusDays(1); !date.isAfter(localDate); date = date.plusDays(1)) {
+                long start = Math.floorDiv(ZonedDateTime.of(date, etz.getWorkingHoursStart(), zone).toEpochSecond(), 60);
+                long end = Math.floorDiv(ZonedDateTime.of(date, etz.getWorkingHoursEnd(), zone).toEpochSecond(), 60);
+                if (!holidays.isHoliday(zone.getId(), date) && start <= minute && minute < end) {
+                    ids.add(etz.getEmployeeId());
+                    break;
+                }
+            }
+        }
+        return ids.stream().mapToLong(Long::longValue).sorted().toArray();
+    }
+}
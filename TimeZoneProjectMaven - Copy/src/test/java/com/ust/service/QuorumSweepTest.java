@@ -0,0 +1,61 @@
+package com.ust.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QuorumSweepTest {
+
+    private static final int MINUTES = 600;
+
+    @Test
+    void windowsMatchPerMinuteCounting() {
+        Random random = new Random(11);
+        for (int round = 0; round < 200; round++) {
+            int n = 1 + random.nextInt(12);
+            long[][] bits = new long[n][(MINUTES + 63) / 64];
+            boolean[] required = new boolean[n];
+            QuorumSweep sweep = new QuorumSweep();
+            int requiredAttendees = 0;
+            for (int i = 0; i < n; i++) {
+                for (int runs = random.nextInt(4); runs > 0; runs--) {
+                    int from = random.nextInt(MINUTES);
+                    MinuteBits.setRange(bits[i], from, Math.min(MINUTES, from + random.nextInt(240)));
+                }
+                required[i] = random.nextInt(4) == 0;
+                requiredAttendees += required[i] ? 1 : 0;
+                sweep.addAvailability(bits[i], required[i]);
+            }
+            int minOptional = random.nextInt(n + 1);
+
+            int[] expected = new int[MINUTES];
+            for (int minute = 0; minute < MINUTES; minute++) {
+                int available = 0;
+                int optional = 0;
+                boolean allRequired = true;
+                for (int i = 0; i < n; i++) {
+                    boolean free = (bits[i][minute >>> 6] & (1L << minute)) != 0;
+                    available += free ? 1 : 0;
+                    optional += free && !required[i] ? 1 : 0;
+                    allRequired &= free || !required[i];
+                }
+                expected[minute] = allRequired && optional >= minOptional && available > 0 ? available : 0;
+            }
+
+            int[] actual = new int[MINUTES];
+            int previousEnd = -1;
+            for (QuorumSweep.Window window : sweep.windows(requiredAttendees, minOptional)) {
+                // Adjacent qualifying stretches are merged, so windows never touch
+                assertThat(window.start()).isGreaterThan(previousEnd);
+                previousEnd = window.end();
+                for (int minute = window.start(); minute < window.end(); minute++) {
+                    actual[minute] = window.attendeesAt(minute);
+                    assertThat(actual[minute]).isBetween(window.minAttendees(), window.maxAttendees());
+                }
+            }
+            assertThat(actual).as("round %d", round).isEqualTo(expected);
+        }
+    }
+}
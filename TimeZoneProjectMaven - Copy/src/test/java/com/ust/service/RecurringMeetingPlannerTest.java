@@ -0,0 +1,117 @@
+package com.ust.service;
+
+import com.ust.dto.AttendeeConflict;
+import com.ust.dto.AttendeeConflict.ConflictReason;
+import com.ust.dto.OccurrenceFailure;
+import com.ust.dto.Recurrence;
+import com.ust.dto.RecurringMeetingRequest;
+import com.ust.dto.RecurringMeetingValidation;
+import com.ust.model.EmployeeTimeZone;
+import org.junit.jupiter.api.Test;
+
+import java.time.*;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RecurringMeetingPlannerTest {
+
+    private static final List<EmployeeTimeZone> TEAM = List.of(
+            new EmployeeTimeZone(1L, "America/New_York", LocalTime.of(8, 0), LocalTime.of(17, 0)),
+            new EmployeeTimeZone(2L, "Europe/London", LocalTime.of(9, 0), LocalTime.of(18, 0)),
+            new EmployeeTimeZone(3L, "Asia/Kolkata", LocalTime.of(13, 0), LocalTime.of(22, 0)),
+            new EmployeeTimeZone(4L, "Australia/Sydney", LocalTime.of(7, 0), LocalTime.of(16, 0)));
+
+    private final HolidayCalendarIndex holidays = new HolidayCalendarIndex();
+    private final RecurringMeetingPlanner planner;
+
+    RecurringMeetingPlannerTest() {
+        EmployeeTimeZoneCache cache = mock(EmployeeTimeZoneCache.class);
+        when(cache.findAllById(anyCollection())).thenReturn(TEAM);
+        planner = new RecurringMeetingPlanner(cache, new ZoneCache(), holidays);
+    }
+
+    @Test
+    void occurrenceConflictsMatchZonedDateTimeAcrossDstChanges() {
+        holidays.add("Europe/London", List.of(LocalDate.of(2026, 4, 6), LocalDate.of(2026, 5, 4)));
+        // Daily from February to June covers the US and EU spring changes and the Australian autumn change
+        for (String organizerZone : List.of("America/New_York", "Europe/London", "Australia/Sydney")) {
+            for (LocalTime time = LocalTime.of(0, 0); ; time = time.plusMinutes(90)) {
+                Recurrence recurrence = new Recurrence(Recurrence.Frequency.DAILY, 1, null, 150, null);
+                RecurringMeetingRequest request = new RecurringMeetingRequest(List.of(1L, 2L, 3L, 4L),
+                        LocalDateTime.of(LocalDate.of(2026, 2, 1), time), organizerZone, Duration.ofMinutes(45),
+                        recurrence);
+
+                RecurringMeetingValidation validation = planner.validate(request);
+
+                assertThat(validation.occurrences()).isEqualTo(150);
+                assertThat(conflicts(validation)).as("%s %s", organizerZone, time)
+                        .isEqualTo(bruteForce(request, 150));
+                if (time.equals(LocalTime.of(22, 30))) {
+                    break;
+                }
+            }
+        }
+    }
+
+    @Test
+    void missingOrNonPositiveDurationIsRejected() {
+        Recurrence recurrence = new Recurrence(Recurrence.Frequency.DAILY, 1, null, 5, null);
+        for (Duration duration : Arrays.asList(null, Duration.ZERO, Duration.ofMinutes(-30))) {
+            RecurringMeetingRequest request = new RecurringMeetingRequest(List.of(1L, 2L),
+                    LocalDateTime.of(2026, 3, 2, 14, 0), "Europe/London", duration, recurrence);
+
+            assertThatThrownBy(() -> planner.validate(request))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("duration must be positive: " + duration);
+        }
+    }
+
+    private static Set<String> conflicts(RecurringMeetingValidation validation) {
+        Set<String> conflicts = new TreeSet<>();
+        for (OccurrenceFailure failure : validation.failures()) {
+            for (AttendeeConflict conflict : failure.conflicts()) {
+                conflicts.add(failure.index() + "/" + failure.startTime().toInstant() + "/" + conflict.employeeId()
+                        + "/" + conflict.reason());
+            }
+        }
+        return conflicts;
+    }
+
+    private Set<String> bruteForce(RecurringMeetingRequest request, int occurrences) {
+        Set<String> conflicts = new TreeSet<>();
+        ZoneId organizer = ZoneId.of(request.timeZone());
+        for (int i = 0; i < occurrences; i++) {
+            ZonedDateTime start = ZonedDateTime.of(request.startTime().plusDays(i), organizer);
+            for (EmployeeTimeZone etz : TEAM) {
+                ZoneId zone = ZoneId.of(etz.getTimeZone());
+                LocalDateTime localStart = start.withZoneSameInstant(zone).toLocalDateTime();
+                LocalDateTime localEnd = start.plus(request.duration()).withZoneSameInstant(zone).toLocalDateTime();
+                // Wall-clock seconds since the local midnight of the day the meeting starts on
+                long startSecond = localStart.toLocalTime().toSecondOfDay();
+                long endSecond = Duration.between(localStart.toLocalDate().atStartOfDay(), localEnd).getSeconds();
+                long workStart = etz.getWorkingHoursStart().toSecondOfDay();
+                long workEnd = etz.getWorkingHoursEnd().toSecondOfDay();
+
+                ConflictReason reason = null;
+                if (holidays.isHoliday(zone.getId(), localStart.toLocalDate())) {
+                    reason = ConflictReason.HOLIDAY;
+                } else if (startSecond <= workStart) {
+                    reason = ConflictReason.STARTS_BEFORE_WORKING_HOURS;
+                } else if (startSecond >= workEnd) {
+                    reason = ConflictReason.STARTS_AFTER_WORKING_HOURS;
+                } else if (endSecond > workEnd) {
+                    reason = ConflictReason.ENDS_AFTER_WORKING_HOURS;
+                }
+                if (reason != null) {
+                    conflicts.add(i + "/" + start.toInstant() + "/" + etz.getEmployeeId() + "/" + reason);
+                }
+            }
+        }
+        return conflicts;
+    }
+}
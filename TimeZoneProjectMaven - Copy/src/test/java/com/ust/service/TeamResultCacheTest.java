@@ -0,0 +1,70 @@
+package com.ust.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TeamResultCacheTest {
+
+    private final TeamResultCache cache = new TeamResultCache();
+    private final List<List<Long>> computedFor = new ArrayList<>();
+
+    @Test
+    void resultsAreKeptUntilAMemberChanges() {
+        cache.register(1L, List.of(10L, 11L));
+        cache.register(2L, List.of(20L));
+
+        assertThat(cache.result(1L, "key", this::compute)).contains(1);
+        assertThat(cache.result(1L, "key", this::compute)).contains(1);
+        cache.invalidateEmployees(List.of(20L, 99L));
+        assertThat(cache.result(1L, "key", this::compute)).contains(1);
+
+        cache.invalidateEmployees(List.of(11L));
+        assertThat(cache.result(1L, "key", this::compute)).contains(2);
+        assertThat(computedFor).containsExactly(List.of(10L, 11L), List.of(10L, 11L));
+    }
+
+    @Test
+    void resultFromAReplacedMemberListIsNotKept() {
+        cache.register(1L, List.of(10L, 11L));
+
+        // The team is re-registered while its old result is being computed
+        assertThat(cache.result(1L, "key", members -> {
+            cache.register(1L, List.of(12L));
+            return compute(members);
+        })).contains(1);
+
+        assertThat(cache.result(1L, "key", this::compute)).contains(2);
+        assertThat(computedFor).containsExactly(List.of(10L, 11L), List.of(12L));
+    }
+
+    @Test
+    void resultComputedDuringAnInvalidationIsNotKept() {
+        cache.register(1L, List.of(10L));
+
+        cache.result(1L, "key", members -> {
+            cache.invalidateEmployees(List.of(10L));
+            return compute(members);
+        });
+
+        assertThat(cache.result(1L, "key", this::compute)).contains(2);
+    }
+
+    @Test
+    void unknownAndRemovedTeamsHaveNoResult() {
+        assertThat(cache.result(1L, "key", this::compute)).isEmpty();
+        cache.register(1L, List.of(10L));
+        cache.remove(1L);
+        assertThat(cache.result(1L, "key", this::compute)).isEmpty();
+        cache.invalidateEmployees(List.of(10L));
+        assertThat(computedFor).isEmpty();
+    }
+
+    private int compute(List<Long> members) {
+        computedFor.add(members);
+        return computedFor.size();
+    }
+}
@@ -0,0 +1,71 @@
+package com.ust.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ust.dto.CompactSlots;
+import com.ust.dto.SlotFormat;
+import com.ust.model.EmployeeTimeZone;
+import com.ust.repo.EmployeeTimeZoneRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TimeZoneServiceCompactSlotsTest {
+
+    private static final List<Long> TEAM = List.of(1L, 2L);
+
+    private TimeZoneService service;
+
+    @BeforeEach
+    void setUp() {
+        EmployeeTimeZoneCache cache = mock(EmployeeTimeZoneCache.class);
+        when(cache.findAllById(TEAM)).thenReturn(List.of(
+                new EmployeeTimeZone(1L, "America/New_York", LocalTime.of(7, 10), LocalTime.of(17, 0)),
+                new EmployeeTimeZone(2L, "Asia/Kolkata", LocalTime.of(16, 0), LocalTime.of(23, 45))));
+        BusyBlockService busyBlockService = mock(BusyBlockService.class);
+        when(busyBlockService.calendar(anyList(), any(), any())).thenReturn(BusyCalendar.EMPTY);
+        AvailabilityEngine engine = new AvailabilityEngine(new ZoneCache(), new HolidayCalendarIndex(), 16, 366);
+        service = new TimeZoneService(mock(EmployeeTimeZoneRepository.class), cache, engine, new ZoneCache(),
+                mock(EmployeeTimeZoneImporter.class), mock(AvailabilityHeatmapIndex.class), mock(OnShiftIndex.class),
+                mock(EmployeeTimeZoneChangeFeed.class), busyBlockService, mock(HolidayService.class),
+                new TeamResultCache(), mock(RecurringMeetingPlanner.class), new ObjectMapper(),
+                mock(EntityManager.class));
+    }
+
+    @Test
+    void compactFormatsExpandToTheSlotList() {
+        // Includes the US spring-forward date
+        for (LocalDate date : List.of(LocalDate.of(2026, 3, 4), LocalDate.of(2026, 3, 8))) {
+            for (int step : new int[]{1, 15, 30, 45, 60}) {
+                List<Long> expected = service.calculateOverlappingWorkingHours(TEAM, date, step).stream()
+                        .map(ZonedDateTime::toEpochSecond)
+                        .toList();
+                assertThat(expected).as("%s step %d", date, step).isNotEmpty();
+
+                CompactSlots epochs = service.calculateOverlappingSlots(TEAM, date, step, SlotFormat.EPOCHS);
+                assertThat(epochs.epochSeconds()).as("%s step %d", date, step)
+                        .containsExactly(expected.stream().mapToLong(Long::longValue).toArray());
+
+                CompactSlots intervals = service.calculateOverlappingSlots(TEAM, date, step, SlotFormat.INTERVALS);
+                List<Long> expanded = new ArrayList<>();
+                for (long[] interval : intervals.intervals()) {
+                    for (long second = interval[0]; second < interval[1]; second += interval[2]) {
+                        expanded.add(second);
+                    }
+                }
+                assertThat(expanded).as("%s step %d", date, step).isEqualTo(expected);
+            }
+        }
+    }
+}
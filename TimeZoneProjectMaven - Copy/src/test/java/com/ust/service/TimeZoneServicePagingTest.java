@@ -0,0 +1,75 @@
+package com.ust.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ust.dto.EmployeeTimeZonePage;
+import com.ust.model.EmployeeTimeZone;
+import com.ust.repo.EmployeeTimeZoneRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TimeZoneServicePagingTest {
+
+    private final TreeMap<Long, EmployeeTimeZone> rows = new TreeMap<>();
+    private TimeZoneService service;
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(3);
+        while (rows.size() < 50) {
+            long id = 1 + random.nextInt(1000);
+            rows.put(id, new EmployeeTimeZone(id, "UTC", LocalTime.of(9, 0), LocalTime.of(17, 0)));
+        }
+        EmployeeTimeZoneRepository repository = mock(EmployeeTimeZoneRepository.class);
+        when(repository.findByEmployeeIdGreaterThanOrderByEmployeeIdAsc(anyLong(), any())).thenAnswer(call ->
+                rows.tailMap(call.<Long>getArgument(0), false).values().stream()
+                        .limit(call.<Limit>getArgument(1).max())
+                        .toList());
+        service = new TimeZoneService(repository, mock(EmployeeTimeZoneCache.class), mock(AvailabilityEngine.class),
+                new ZoneCache(), mock(EmployeeTimeZoneImporter.class), mock(AvailabilityHeatmapIndex.class),
+                mock(OnShiftIndex.class), mock(EmployeeTimeZoneChangeFeed.class), mock(BusyBlockService.class),
+                mock(HolidayService.class), new TeamResultCache(), mock(RecurringMeetingPlanner.class),
+                new ObjectMapper(), mock(EntityManager.class));
+    }
+
+    @Test
+    void followingAfterIdsVisitsEveryRowOnce() {
+        for (int size : new int[]{1, 7, 10, 49, 50, 51}) {
+            List<Long> visited = new ArrayList<>();
+            Long afterId = null;
+            int pages = 0;
+            do {
+                EmployeeTimeZonePage page = service.getEmployeeTimeZonePage(afterId, size);
+                assertThat(page.items()).hasSizeBetween(1, size);
+                page.items().forEach(etz -> visited.add(etz.getEmployeeId()));
+                afterId = page.nextAfterId();
+                pages++;
+            } while (afterId != null);
+            assertThat(visited).as("size %d", size).containsExactlyElementsOf(rows.keySet());
+            // An exact multiple of the page size ends without a trailing empty page
+            assertThat(pages).as("size %d", size).isEqualTo((rows.size() + size - 1) / size);
+        }
+    }
+
+    @Test
+    void pageSizeOutsideTheLimitIsRejected() {
+        for (int size : new int[]{0, 10_001}) {
+            assertThatThrownBy(() -> service.getEmployeeTimeZonePage(null, size))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.ust.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ust.dto.MeetingSuggestion;
+import com.ust.dto.SlotPage;
+import com.ust.model.EmployeeTimeZone;
+import com.ust.repo.EmployeeTimeZoneRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class TimeZoneServiceSlotSearchTest {
+
+    private static final List<Long> TEAM = List.of(1L, 2L);
+    private static final LocalDate START = LocalDate.of(2026, 3, 2);
+
+    private BusyBlockService busyBlockService;
+    private TimeZoneService service;
+
+    @BeforeEach
+    void setUp() {
+        EmployeeTimeZoneCache cache = mock(EmployeeTimeZoneCache.class);
+        when(cache.findAllById(TEAM)).thenReturn(List.of(
+                new EmployeeTimeZone(1L, "America/New_York", LocalTime.of(7, 0), LocalTime.of(17, 0)),
+                new EmployeeTimeZone(2L, "Europe/Berlin", LocalTime.of(9, 0), LocalTime.of(19, 0))));
+        busyBlockService = mock(BusyBlockService.class);
+        when(busyBlockService.calendar(anyList(), any(), any())).thenReturn(BusyCalendar.EMPTY);
+        AvailabilityEngine engine = new AvailabilityEngine(new ZoneCache(), new HolidayCalendarIndex(), 16, 366);
+        service = new TimeZoneService(mock(EmployeeTimeZoneRepository.class), cache, engine, new ZoneCache(),
+                mock(EmployeeTimeZoneImporter.class), mock(AvailabilityHeatmapIndex.class), mock(OnShiftIndex.class),
+                mock(EmployeeTimeZoneChangeFeed.class), busyBlockService, mock(HolidayService.class),
+                new TeamResultCache(), mock(RecurringMeetingPlanner.class), new ObjectMapper(),
+                mock(EntityManager.class));
+    }
+
+    @Test
+    void followingCursorsReturnsEverySlotOnceInOrder() {
+        // A page large enough to hold the whole horizon is the baseline
+        SlotPage all = service.searchSlots(TEAM, START, 21, 0, 10_000, null);
+        assertThat(all.nextCursor()).isNull();
+
+        for (int pageSize : new int[]{1, 3, 7, all.slots().size(), all.slots().size() + 1}) {
+            List<MeetingSuggestion> paged = new ArrayList<>();
+            String cursor = null;
+            do {
+                SlotPage page = service.searchSlots(TEAM, START, 21, 0, pageSize, cursor);
+                assertThat(page.slots()).hasSizeLessThanOrEqualTo(pageSize).isNotEmpty();
+                paged.addAll(page.slots());
+                cursor = page.nextCursor();
+            } while (cursor != null);
+            assertThat(paged).as("page size %d", pageSize).isEqualTo(all.slots());
+        }
+    }
+
+    @Test
+    void scoreThresholdFiltersBeforePaging() {
+        List<MeetingSuggestion> all = service.searchSlots(TEAM, START, 21, 0, 10_000, null).slots();
+        int threshold = all.stream().mapToInt(MeetingSuggestion::score).max().orElseThrow();
+
+        SlotPage page = service.searchSlots(TEAM, START, 21, threshold, 10_000, null);
+
+        assertThat(page.slots()).isEqualTo(all.stream().filter(slot -> slot.score() >= threshold).toList());
+    }
+
+    @Test
+    void searchStopsAtTheFirstFullPage() {
+        SlotPage page = service.searchSlots(TEAM, START, 365, 0, 2, null);
+
+        assertThat(page.slots()).hasSize(2);
+        assertThat(page.nextCursor()).isNotNull();
+        // The first week of busy blocks already fills two slots plus the look-ahead one
+        verify(busyBlockService, times(1)).calendar(TEAM, START, START.plusDays(7));
+        verify(busyBlockService, times(1)).calendar(anyList(), any(), any());
+    }
+
+    @Test
+    void sparseSearchLoadsBusyBlocksOncePerWeek() {
+        SlotPage page = service.searchSlots(TEAM, START, 365, Integer.MAX_VALUE, 5, null);
+
+        assertThat(page.slots()).isEmpty();
+        // 52 full weeks and a final one-day window tile the horizon exactly
+        for (int week = 0; week < 52; week++) {
+            verify(busyBlockService).calendar(TEAM, START.plusDays(7L * week), START.plusDays(7L * week + 7));
+        }
+        verify(busyBlockService).calendar(TEAM, START.plusDays(364), START.plusDays(365));
+        verify(busyBlockService, times(53)).calendar(anyList(), any(), any());
+    }
+
+    @Test
+    void busyBlocksOfEachWeekApplyToItsDays() {
+        // Blocks covering all of the first week leave the second week's slots as the first page
+        BusyCalendar.Builder firstWeek = new BusyCalendar.Builder();
+        long from = AvailabilityEngine.frameOrigin(START);
+        long to = START.plusDays(7).toEpochDay() * AvailabilityEngine.MINUTES_PER_DAY;
+        for (long employeeId : TEAM) {
+            firstWeek.add(employeeId, from, to);
+        }
+        when(busyBlockService.calendar(TEAM, START, START.plusDays(7))).thenReturn(firstWeek.build());
+
+        List<MeetingSuggestion> slots = service.searchSlots(TEAM, START, 21, 0, 3, null).slots();
+
+        assertThat(slots).isNotEmpty().allSatisfy(slot ->
+                assertThat(slot.startTime().toEpochSecond()).isGreaterThanOrEqualTo(to * 60));
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        assertThatThrownBy(() -> service.searchSlots(TEAM, START, 21, 0, 5, "not a cursor"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,67 @@
+package com.ust.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ust.dto.MeetingSuggestion;
+import com.ust.model.EmployeeTimeZone;
+import com.ust.repo.EmployeeTimeZoneRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TimeZoneServiceSuggestionTest {
+
+    private static final List<Long> TEAM = List.of(1L, 2L);
+    private static final LocalDate START = LocalDate.of(2026, 3, 2);
+
+    private TimeZoneService service;
+
+    @BeforeEach
+    void setUp() {
+        EmployeeTimeZoneCache cache = mock(EmployeeTimeZoneCache.class);
+        when(cache.findAllById(TEAM)).thenReturn(List.of(
+                new EmployeeTimeZone(1L, "America/New_York", LocalTime.of(7, 0), LocalTime.of(17, 0)),
+                new EmployeeTimeZone(2L, "Europe/Berlin", LocalTime.of(9, 0), LocalTime.of(19, 0))));
+        BusyBlockService busyBlockService = mock(BusyBlockService.class);
+        when(busyBlockService.calendar(anyList(), any(), any())).thenReturn(BusyCalendar.EMPTY);
+        AvailabilityEngine engine = new AvailabilityEngine(new ZoneCache(), new HolidayCalendarIndex(), 16, 366);
+        service = new TimeZoneService(mock(EmployeeTimeZoneRepository.class), cache, engine, new ZoneCache(),
+                mock(EmployeeTimeZoneImporter.class), mock(AvailabilityHeatmapIndex.class), mock(OnShiftIndex.class),
+                mock(EmployeeTimeZoneChangeFeed.class), busyBlockService, mock(HolidayService.class),
+                new TeamResultCache(), mock(RecurringMeetingPlanner.class), new ObjectMapper(),
+                mock(EntityManager.class));
+    }
+
+    @Test
+    void topSuggestionsAreTheHeadOfTheFullRanking() {
+        // 28 days hold at most 1344 half-hour slots, so this limit keeps them all: the exhaustive ranking
+        List<MeetingSuggestion> all = service.suggestMeetingTimes(TEAM, START, 28, 10_000);
+        List<MeetingSuggestion> expected = all.stream()
+                .sorted(Comparator.comparingInt(MeetingSuggestion::score).reversed()
+                        .thenComparing(suggestion -> suggestion.startTime().toInstant()))
+                .limit(7)
+                .toList();
+
+        assertThat(all).isNotEmpty();
+        assertThat(service.suggestMeetingTimes(TEAM, START, 28, 7)).isEqualTo(expected);
+    }
+
+    @Test
+    void daysToCheckOutsideTheSearchHorizonIsRejected() {
+        for (int days : new int[]{-1, 0, 366}) {
+            assertThatThrownBy(() -> service.suggestMeetingTimes(TEAM, START, days, 5))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.ust.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ust.dto.MeetingProposal;
+import com.ust.model.EmployeeTimeZone;
+import com.ust.repo.EmployeeTimeZoneRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TimeZoneServiceValidationTest {
+
+    private static final List<EmployeeTimeZone> TEAM = List.of(
+            new EmployeeTimeZone(1L, "America/New_York", LocalTime.of(7, 0), LocalTime.of(17, 0)),
+            new EmployeeTimeZone(2L, "Europe/Berlin", LocalTime.of(9, 0), LocalTime.of(19, 0)),
+            new EmployeeTimeZone(3L, "Asia/Kolkata", LocalTime.of(10, 30), LocalTime.of(18, 30)));
+
+    private TimeZoneService service;
+
+    @BeforeEach
+    void setUp() {
+        EmployeeTimeZoneCache cache = mock(EmployeeTimeZoneCache.class);
+        when(cache.findAllById(anyCollection())).thenAnswer(call -> TEAM.stream()
+                .filter(etz -> call.<Collection<?>>getArgument(0).contains(etz.getEmployeeId()))
+                .toList());
+        AvailabilityEngine engine = new AvailabilityEngine(new ZoneCache(), new HolidayCalendarIndex(), 16, 366);
+        service = new TimeZoneService(mock(EmployeeTimeZoneRepository.class), cache, engine, new ZoneCache(),
+                mock(EmployeeTimeZoneImporter.class), mock(AvailabilityHeatmapIndex.class), mock(OnShiftIndex.class),
+                mock(EmployeeTimeZoneChangeFeed.class), mock(BusyBlockService.class), mock(HolidayService.class),
+                new TeamResultCache(), mock(RecurringMeetingPlanner.class), new ObjectMapper(),
+                mock(EntityManager.class));
+    }
+
+    @Test
+    void batchResultsMatchPerAttendeeZonedDateTimeChecks() {
+        Random random = new Random(7);
+        List<MeetingProposal> proposals = new ArrayList<>();
+        // Spans the US and EU daylight saving changes in March
+        ZonedDateTime origin = ZonedDateTime.of(2026, 3, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+        for (int i = 0; i < 2000; i++) {
+            List<Long> ids = TEAM.stream().map(EmployeeTimeZone::getEmployeeId)
+                    .filter(id -> random.nextBoolean()).toList();
+            ZonedDateTime start = origin.plusMinutes(random.nextInt(40 * 24 * 4) * 15L);
+            Duration duration = random.nextInt(5) == 0 ? null : Duration.ofMinutes(15 + random.nextInt(16) * 15L);
+            proposals.add(new MeetingProposal(ids, start, duration));
+        }
+
+        List<Boolean> results = service.validateMeetingTimes(proposals);
+
+        for (int i = 0; i < proposals.size(); i++) {
+            assertThat(results.get(i)).as("proposal %d %s", i, proposals.get(i)).isEqualTo(bruteForce(proposals.get(i)));
+        }
+    }
+
+    @Test
+    void nonPositiveDurationsAreRejected() {
+        ZonedDateTime start = ZonedDateTime.of(2026, 3, 2, 14, 0, 0, 0, ZoneOffset.UTC);
+        for (Duration duration : List.of(Duration.ZERO, Duration.ofMinutes(-30))) {
+            List<MeetingProposal> proposals = List.of(new MeetingProposal(List.of(1L), start, duration));
+            assertThatThrownBy(() -> service.validateMeetingTimes(proposals))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    // Each attendee's local start lies strictly inside the working day and the local end is no later than its end
+    private static boolean bruteForce(MeetingProposal proposal) {
+        for (EmployeeTimeZone etz : TEAM) {
+            if (!proposal.employeeIds().contains(etz.getEmployeeId())) {
+                continue;
+            }
+            ZonedDateTime localStart = proposal.startTime().withZoneSameInstant(ZoneId.of(etz.getTimeZone()));
+            LocalTime startTime = localStart.toLocalTime();
+            if (!startTime.isAfter(etz.getWorkingHoursStart()) || !startTime.isBefore(etz.getWorkingHoursEnd())) {
+                return false;
+            }
+            if (proposal.duration() != null) {
+                ZonedDateTime workEnd = ZonedDateTime.of(localStart.toLocalDate(), etz.getWorkingHoursEnd(), localStart.getZone());
+                if (proposal.startTime().plus(proposal.duration()).toInstant().isAfter(workEnd.toInstant())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,80 @@
+package com.ust.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.*;
+import java.time.zone.ZoneOffsetTransition;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ZoneCacheTest {
+
+    private static final List<String> ZONES = List.of("America/New_York", "Europe/London", "Europe/Berlin",
+            "Australia/Sydney", "Australia/Lord_Howe", "Asia/Kolkata", "America/St_Johns", "Pacific/Chatham", "UTC");
+
+    private final ZoneCache zoneCache = new ZoneCache();
+
+    @Test
+    void offsetsMatchZoneRulesAroundEveryTransition() {
+        for (String id : ZONES) {
+            ZoneCache.CompiledZone zone = zoneCache.zone(id);
+            ZoneId zoneId = ZoneId.of(id);
+            for (long epochSecond : instantsAroundTransitions(zoneId)) {
+                assertThat(zone.offsetSecondsAt(epochSecond)).as("%s at %d", id, epochSecond)
+                        .isEqualTo(zoneId.getRules().getOffset(Instant.ofEpochSecond(epochSecond)).getTotalSeconds());
+            }
+        }
+    }
+
+    @Test
+    void batchOffsetsMatchSingleLookups() {
+        for (String id : ZONES) {
+            ZoneCache.CompiledZone zone = zoneCache.zone(id);
+            long[] instants = instantsAroundTransitions(ZoneId.of(id));
+            int[] offsets = zone.offsetsSecondsAt(instants);
+            for (int i = 0; i < instants.length; i++) {
+                assertThat(offsets[i]).as("%s at %d", id, instants[i]).isEqualTo(zone.offsetSecondsAt(instants[i]));
+            }
+        }
+    }
+
+    @Test
+    void localTimesInGapsAndOverlapsResolveLikeZonedDateTime() {
+        for (String id : ZONES) {
+            ZoneCache.CompiledZone zone = zoneCache.zone(id);
+            ZoneId zoneId = ZoneId.of(id);
+            for (ZoneOffsetTransition transition : transitions(zoneId)) {
+                // Wall-clock times either side of the change, including the skipped or repeated ones
+                for (int minutes = -90; minutes <= 150; minutes += 15) {
+                    LocalDateTime wallClock = transition.getDateTimeBefore().plusMinutes(minutes);
+                    assertThat(zone.toEpochSecond(wallClock.toLocalDate(), wallClock.toLocalTime()))
+                            .as("%s %s", id, wallClock)
+                            .isEqualTo(ZonedDateTime.of(wallClock, zoneId).toEpochSecond());
+                }
+            }
+        }
+    }
+
+    // Ascending instants a second before, at and after each transition within the compiled horizon
+    private static long[] instantsAroundTransitions(ZoneId zoneId) {
+        List<Long> instants = new ArrayList<>();
+        for (ZoneOffsetTransition transition : transitions(zoneId)) {
+            long at = transition.getInstant().getEpochSecond();
+            instants.addAll(List.of(at - 1, at, at + 1));
+        }
+        return instants.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static List<ZoneOffsetTransition> transitions(ZoneId zoneId) {
+        Instant to = Instant.now().plus(Duration.ofDays(720));
+        List<ZoneOffsetTransition> transitions = new ArrayList<>();
+        ZoneOffsetTransition transition = zoneId.getRules().nextTransition(Instant.now().minus(Duration.ofDays(360)));
+        while (transition != null && transition.getInstant().isBefore(to)) {
+            transitions.add(transition);
+            transition = zoneId.getRules().nextTransition(transition.getInstant());
+        }
+        return transitions;
+    }
+}